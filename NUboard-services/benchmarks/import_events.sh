@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Times POST /api/events/import against a running server: generates N events (default 10000) as NDJSON or CSV,
+# uploads them in one request and prints the elapsed time and the import result. Every row is valid, so the
+# result should report all of them imported and no errors.
+#
+#   benchmarks/import_events.sh 10000 csv
+#
+# BASE_URL defaults to http://localhost:8080, LOCATION_ID to 1 (a location of the reference data).
+# The imported events are real; run it against a development database.
+set -euo pipefail
+
+count=${1:-10000}
+format=${2:-ndjson}
+base_url=${BASE_URL:-http://localhost:8080}
+location=${LOCATION_ID:-1}
+file=$(mktemp)
+trap 'rm -f "$file"' EXIT
+
+if [ "$format" = csv ]; then
+    echo 'title,description,startTime,endTime,locationId,address,creatorId,organizerType,capacity' > "$file"
+    awk -v n="$count" -v loc="$location" 'BEGIN {
+        for (i = 1; i <= n; i++)
+            printf "Imported event %d,\"Generated, for the import benchmark\",2030-01-01T10:00:00,2030-01-01T12:00:00,%s,1 Main St,bench,SCHOOL,50\n", i, loc
+    }' >> "$file"
+else
+    awk -v n="$count" -v loc="$location" 'BEGIN {
+        for (i = 1; i <= n; i++)
+            printf "{\"title\":\"Imported event %d\",\"startTime\":\"2030-01-01T10:00:00\",\"endTime\":\"2030-01-01T12:00:00\",\"locationId\":%s,\"address\":\"1 Main St\",\"creatorId\":\"bench\",\"organizerType\":\"SCHOOL\",\"capacity\":50}\n", i, loc
+    }' > "$file"
+fi
+
+echo "Importing $count events as $format ($(wc -c < "$file") bytes)"
+curl -sS -X POST "$base_url/api/events/import?format=$format" \
+    -H 'Content-Type: application/octet-stream' \
+    --data-binary "@$file" \
+    -w '\nHTTP %{http_code} in %{time_total} s\n'
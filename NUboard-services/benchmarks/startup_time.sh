@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Compares application startup time with Flyway and ddl-auto=validate (the default) against the setup before
+# migrations, Hibernate ddl-auto=update. Run it against a database the migrations have already been applied to,
+# so that neither mode changes the schema and only the checks done on every boot differ:
+#
+#   ./gradlew bootJar
+#   benchmarks/startup_time.sh 10
+#
+# Each run starts the jar, takes the time from its "Started Application in N seconds" line and stops it.
+# Extra Spring arguments (e.g. --spring.datasource.url=...) can be passed in JAVA_ARGS.
+# Results depend on hardware and on the size of the schema; compare the medians printed at the end.
+set -euo pipefail
+
+runs=${1:-5}
+jar=$(ls build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)
+log=$(mktemp)
+trap 'rm -f "$log"' EXIT
+
+measure() {
+    local label=$1
+    shift
+    local times=()
+    for _ in $(seq "$runs"); do
+        # shellcheck disable=SC2086
+        java -jar "$jar" --server.port=0 ${JAVA_ARGS:-} "$@" > "$log" 2>&1 &
+        local pid=$!
+        until grep -q -e 'Started Application in' -e 'APPLICATION FAILED TO START' "$log"; do
+            if ! kill -0 "$pid" 2> /dev/null; then break; fi
+            sleep 0.2
+        done
+        local seconds
+        seconds=$(grep -o 'Started Application in [0-9.]*' "$log" | grep -o '[0-9.]*$' || true)
+        kill "$pid" 2> /dev/null || true
+        wait "$pid" 2> /dev/null || true
+        if [ -z "$seconds" ]; then
+            echo "$label: the application did not start, see its log:" >&2
+            cat "$log" >&2
+            exit 1
+        fi
+        echo "$label: $seconds s"
+        times+=("$seconds")
+    done
+    printf '%s\n' "${times[@]}" | sort -n | awk -v label="$label" \
+        '{ t[NR] = $1 } END { m = (NR % 2) ? t[(NR + 1) / 2] : (t[NR / 2] + t[NR / 2 + 1]) / 2; print label " median: " m " s" }'
+}
+
+measure "flyway + validate"
+measure "ddl-auto=update" --spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=update
@@ -0,0 +1,84 @@
+-- Compares the old key layout (random version 4 UUIDs in varchar(255)) with the new one
+-- (time-ordered version 7 UUIDs in native uuid) on insert rate and index size.
+-- Runs entirely in throwaway tables in its own schema; run it against a scratch database:
+--
+--   psql -v ON_ERROR_STOP=1 -v rows=1000000 -d nuboard_bench -f benchmarks/uuid_keys.sql
+--
+-- Each layout gets a parent table shaped like event and a child table shaped like event_registration
+-- (two foreign keys and a unique (event_id, user_id) constraint). Compare the "Time:" lines printed for
+-- the INSERTs and the sizes printed at the end. Results depend on hardware, shared_buffers and row count;
+-- the gap widens once the indexes no longer fit in memory, so try a row count larger than shared_buffers too.
+
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+
+DROP SCHEMA IF EXISTS uuid_bench CASCADE;
+CREATE SCHEMA uuid_bench;
+SET search_path = uuid_bench;
+
+-- Same layout as UUIDutil.newId(): 48-bit Unix milliseconds, version 7, 74 random bits.
+CREATE FUNCTION uuid_v7() RETURNS uuid LANGUAGE sql VOLATILE AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send((extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid
+$$;
+
+CREATE TABLE v4_parent (id varchar(255) PRIMARY KEY, title varchar(255) NOT NULL);
+CREATE TABLE v4_user   (id varchar(255) PRIMARY KEY);
+CREATE TABLE v4_child  (id bigserial PRIMARY KEY,
+                        event_id varchar(255) NOT NULL REFERENCES v4_parent (id),
+                        user_id varchar(255) NOT NULL REFERENCES v4_user (id),
+                        UNIQUE (event_id, user_id));
+
+CREATE TABLE v7_parent (id uuid PRIMARY KEY, title varchar(255) NOT NULL);
+CREATE TABLE v7_user   (id uuid PRIMARY KEY);
+CREATE TABLE v7_child  (id bigserial PRIMARY KEY,
+                        event_id uuid NOT NULL REFERENCES v7_parent (id),
+                        user_id uuid NOT NULL REFERENCES v7_user (id),
+                        UNIQUE (event_id, user_id));
+
+\timing on
+
+\echo '--- parent inserts: varchar v4'
+INSERT INTO v4_parent SELECT gen_random_uuid()::text, 'event ' || g FROM generate_series(1, :rows) g;
+\echo '--- parent inserts: uuid v7'
+INSERT INTO v7_parent SELECT uuid_v7(), 'event ' || g FROM generate_series(1, :rows) g;
+
+\echo '--- user inserts: varchar v4'
+INSERT INTO v4_user SELECT gen_random_uuid()::text FROM generate_series(1, :rows / 10) g;
+\echo '--- user inserts: uuid v7'
+INSERT INTO v7_user SELECT uuid_v7() FROM generate_series(1, :rows / 10) g;
+
+-- One registration per event, spread over the users; both layouts get the same pairing.
+\echo '--- child inserts: varchar v4'
+INSERT INTO v4_child (event_id, user_id)
+SELECT p.id, u.id
+FROM (SELECT id, row_number() OVER () AS n FROM v4_parent) p
+JOIN (SELECT id, row_number() OVER () - 1 AS k FROM v4_user) u ON u.k = p.n % (:rows / 10);
+\echo '--- child inserts: uuid v7'
+INSERT INTO v7_child (event_id, user_id)
+SELECT p.id, u.id
+FROM (SELECT id, row_number() OVER () AS n FROM v7_parent) p
+JOIN (SELECT id, row_number() OVER () - 1 AS k FROM v7_user) u ON u.k = p.n % (:rows / 10);
+
+\timing off
+
+ANALYZE;
+
+\echo '--- sizes'
+SELECT c.relname AS relation,
+       pg_size_pretty(pg_relation_size(c.oid)) AS size,
+       pg_relation_size(c.oid) AS bytes
+FROM pg_class c
+JOIN pg_namespace n ON n.oid = c.relnamespace
+WHERE n.nspname = 'uuid_bench' AND c.relkind IN ('r', 'i')
+ORDER BY c.relname;
+
+RESET search_path;
+DROP SCHEMA uuid_bench CASCADE;
@@ -0,0 +1,42 @@
+package com.neu.nuboard.controller;
+
+import com.neu.nuboard.dto.UserCreateDTO;
+import com.neu.nuboard.model.College;
+import com.neu.nuboard.model.Location;
+import com.neu.nuboard.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link UserController#convertUserToDTO}, which runs once per user in every user response.
+ */
+@State(Scope.Benchmark)
+public class UserControllerBenchmark {
+
+    private UserController userController;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // The conversion does not touch the services
+        userController = new UserController(null, null);
+
+        Location location = new Location();
+        location.setId(1L);
+        location.setName("Boston");
+        College college = new College();
+        college.setId(2L);
+        college.setName("Khoury College of Computer Sciences");
+
+        user = new User("husky", "Computer Science", "husky@northeastern.edu");
+        user.setLocation(location);
+        user.setCollege(college);
+    }
+
+    @Benchmark
+    public UserCreateDTO convertUserToDTO() {
+        return userController.convertUserToDTO(user);
+    }
+}
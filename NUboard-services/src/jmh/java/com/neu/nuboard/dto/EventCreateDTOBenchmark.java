@@ -0,0 +1,64 @@
+package com.neu.nuboard.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the date handling of {@link EventCreateDTO}: the setters validate the times and the
+ * getters parse them again, once for every create and update request.
+ */
+@State(Scope.Benchmark)
+public class EventCreateDTOBenchmark {
+
+    private static final String START = "2025-09-15T10:00:00";
+    private static final String END = "2025-09-15T16:00:00";
+
+    private ObjectMapper objectMapper;
+    private String json;
+    private EventCreateDTO dto;
+
+    @Setup
+    public void setUp() {
+        // Same modules as the ObjectMapper Spring Boot configures
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        json = "{\"title\":\"Career Fair\",\"description\":\"Meet employers from the Boston area.\"," +
+               "\"startTime\":\"" + START + "\",\"endTime\":\"" + END + "\",\"locationId\":1," +
+               "\"address\":\"360 Huntington Ave\",\"creatorId\":\"creator\",\"organizerType\":\"SCHOOL\",\"capacity\":100}";
+        dto = new EventCreateDTO();
+        dto.setStartTime(START);
+        dto.setEndTime(END);
+    }
+
+    /**
+     * setStartTime and setEndTime, as called when a request body is bound.
+     */
+    @Benchmark
+    public EventCreateDTO setTimes() {
+        EventCreateDTO created = new EventCreateDTO();
+        created.setStartTime(START);
+        created.setEndTime(END);
+        return created;
+    }
+
+    /**
+     * getStartTime and getEndTime, as called by Event.fromDTO and updateFromDTO.
+     */
+    @Benchmark
+    public void getTimes(Blackhole blackhole) {
+        blackhole.consume(dto.getStartTime());
+        blackhole.consume(dto.getEndTime());
+    }
+
+    /**
+     * The whole request body, including the setters above.
+     */
+    @Benchmark
+    public EventCreateDTO deserialize() throws Exception {
+        return objectMapper.readValue(json, EventCreateDTO.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.neu.nuboard.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.neu.nuboard.dto.EventRegistrationDTO;
+import com.neu.nuboard.dto.EventResponseDTO;
+import com.neu.nuboard.model.Event;
+import com.neu.nuboard.model.EventRegistration;
+import com.neu.nuboard.utils.UUIDutil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Measures Jackson serialization of an event list response, i.e. the body of GET /api/events.
+ */
+@State(Scope.Benchmark)
+public class SuccessResponseBenchmark {
+
+    @Param({"20", "100"})
+    public int events;
+
+    @Param({"0", "20"})
+    public int registrationsPerEvent;
+
+    private ObjectMapper objectMapper;
+    private SuccessResponse<List<EventResponseDTO>> response;
+
+    @Setup
+    public void setUp() {
+        // Same modules as the ObjectMapper Spring Boot configures
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        List<EventResponseDTO> list = new ArrayList<>(events);
+        LocalDateTime start = LocalDateTime.of(2025, 9, 15, 10, 0);
+        for (int i = 0; i < events; i++) {
+            String eventId = UUIDutil.getId();
+            Set<EventRegistrationDTO> registrations = new HashSet<>();
+            for (long r = 0; r < registrationsPerEvent; r++) {
+                registrations.add(new EventRegistrationDTO(i * 1000L + r, eventId, UUIDutil.getId(),
+                        EventRegistration.Status.REGISTERED));
+            }
+            EventResponseDTO dto = new EventResponseDTO();
+            dto.setId(eventId);
+            dto.setTitle("Event " + i);
+            dto.setDescription("Description of event " + i);
+            dto.setStartTime(start.plusHours(i));
+            dto.setEndTime(start.plusHours(i + 2));
+            dto.setLocationId(1L);
+            dto.setAddress("360 Huntington Ave");
+            dto.setCreatorId(UUIDutil.getId());
+            dto.setOrganizerType(Event.OrganizerType.SCHOOL);
+            dto.setCapacity(100);
+            dto.setRegisteredCount(registrationsPerEvent);
+            dto.setRegistrations(registrations);
+            list.add(dto);
+        }
+        response = new SuccessResponse<>(list);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
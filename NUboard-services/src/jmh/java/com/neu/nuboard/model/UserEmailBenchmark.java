@@ -0,0 +1,40 @@
+package com.neu.nuboard.model;
+
+import com.neu.nuboard.exception.BusinessException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the email validation in {@link User#setEmail}; UserService.validateUser runs the same regex again.
+ */
+@State(Scope.Benchmark)
+public class UserEmailBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User("husky", "Computer Science", "husky@northeastern.edu");
+    }
+
+    @Benchmark
+    public User validEmail() {
+        user.setEmail("paws.the.husky@mail.northeastern.edu");
+        return user;
+    }
+
+    /**
+     * A near miss: the regex only fails at the very end, after trying every way to split the domain.
+     */
+    @Benchmark
+    public Object invalidEmail() {
+        try {
+            user.setEmail("paws.the.husky@mail.northeastern.education");
+            return user;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.neu.nuboard.service;
+
+import com.neu.nuboard.dto.EventCreateDTO;
+import com.neu.nuboard.dto.EventRegistrationDTO;
+import com.neu.nuboard.dto.EventResponseDTO;
+import com.neu.nuboard.model.Event;
+import com.neu.nuboard.model.EventRegistration;
+import com.neu.nuboard.model.Location;
+import com.neu.nuboard.utils.UUIDutil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Measures {@link EventService#mapToResponseDTO}, which runs once per event in every event list response.
+ */
+@State(Scope.Benchmark)
+public class EventServiceBenchmark {
+
+    @Param({"0", "50", "500"})
+    public int registrations;
+
+    private EventService eventService;
+    private Event event;
+    private Set<EventRegistrationDTO> registrationDTOs;
+
+    @Setup
+    public void setUp() {
+        // The mapping does not touch the repositories
+        eventService = new EventService(null, null, null, null, null, null, null, null, null);
+
+        EventCreateDTO dto = new EventCreateDTO();
+        dto.setTitle("Career Fair");
+        dto.setDescription("Meet employers from the Boston area.");
+        dto.setStartTime("2025-09-15T10:00:00");
+        dto.setEndTime("2025-09-15T16:00:00");
+        dto.setLocationId(1L);
+        dto.setAddress("360 Huntington Ave");
+        dto.setCreatorId(UUIDutil.getId());
+        dto.setOrganizerType("SCHOOL");
+        dto.setCapacity(1000);
+        event = Event.fromDTO(dto);
+        Location location = new Location();
+        location.setId(1L);
+        location.setName("Boston");
+        event.setLocation(location);
+
+        registrationDTOs = new HashSet<>();
+        String eventId = event.getId().toString();
+        for (long i = 0; i < registrations; i++) {
+            registrationDTOs.add(new EventRegistrationDTO(i, eventId, UUIDutil.getId(), EventRegistration.Status.REGISTERED));
+        }
+    }
+
+    @Benchmark
+    public EventResponseDTO mapToResponseDTO() {
+        return eventService.mapToResponseDTO(event, registrationDTOs);
+    }
+}
@@ -0,0 +1,61 @@
+package com.neu.nuboard.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+
+/**
+ * Measures the per-request cost of {@link RateLimiter#tryAcquire}, which every limited request pays
+ * before its handler runs. The budget is well under a microsecond.
+ */
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 50_000;
+
+    private RateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        // High enough that the benchmark never runs out of requests, so every call takes the CAS path
+        limiter = new RateLimiter(Integer.MAX_VALUE, Duration.ofSeconds(1), 100_000, Duration.ofMinutes(10));
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+            limiter.tryAcquire(keys[i]);
+        }
+    }
+
+    /**
+     * One client hammering the same bucket from several threads: CAS contention.
+     */
+    @Benchmark
+    @Threads(4)
+    public RateLimiter.Decision hotKey() {
+        return limiter.tryAcquire(keys[0]);
+    }
+
+    /**
+     * Many clients: the cost is mostly the bucket lookup in the map.
+     */
+    @Benchmark
+    @Threads(4)
+    public RateLimiter.Decision manyKeys(ClientIndex index) {
+        return limiter.tryAcquire(keys[index.next()]);
+    }
+
+    @State(Scope.Thread)
+    public static class ClientIndex {
+        private int i;
+
+        int next() {
+            i = (i + 7919) % CLIENTS;
+            return i;
+        }
+    }
+}
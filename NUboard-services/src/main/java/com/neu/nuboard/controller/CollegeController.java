@@ -2,37 +2,40 @@ package com.neu.nuboard.controller;
 
 import com.neu.nuboard.dto.CollegeResponseDTO;
 import com.neu.nuboard.exception.SuccessResponse;
-import com.neu.nuboard.model.College;
-import com.neu.nuboard.repository.CollegeRepository;
+import com.neu.nuboard.service.ReferenceDataRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-@CrossOrigin(origins = "http://localhost:5173/") // Make data transmit between different servers.
+@CrossOrigin(origins = "http://localhost:5173/", exposedHeaders = "ETag") // Make data transmit between different servers.
 @RestController
 @RequestMapping("/api/colleges")
 public class CollegeController {
 
-    private final CollegeRepository collegeRepository;
+    private final ReferenceDataRegistry referenceData;
 
-    public CollegeController(CollegeRepository collegeRepository) {
-        this.collegeRepository = collegeRepository;
+    public CollegeController(ReferenceDataRegistry referenceData) {
+        this.referenceData = referenceData;
     }
 
-    // Return all colleges to the frontend.
+    // Return all colleges to the frontend, served from memory.
+    // Clients that send back the ETag in If-None-Match get 304 Not Modified without a body.
     @GetMapping
-    public SuccessResponse<List<CollegeResponseDTO>> getAllLocations() {
-        List<College> colleges = collegeRepository.findAll();
-        List<CollegeResponseDTO> collegeDTOs = colleges.stream().map(this::convertToDTO).collect(Collectors.toList());
-        return new SuccessResponse<>(collegeDTOs);
-    }
-
-    // Entity → DTO
-    private CollegeResponseDTO convertToDTO(College entity) {
-        return new CollegeResponseDTO(entity.getId(), entity.getName());
+    public ResponseEntity<SuccessResponse<List<CollegeResponseDTO>>> getAllLocations(WebRequest request) {
+        String eTag = referenceData.getCollegesETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(new SuccessResponse<>(referenceData.getColleges()));
     }
 }
@@ -1,14 +1,27 @@
 package com.neu.nuboard.controller;
 
+import com.neu.nuboard.dto.EventChangesDTO;
 import com.neu.nuboard.dto.EventCreateDTO;
+import com.neu.nuboard.dto.EventImportResultDTO;
+import com.neu.nuboard.dto.EventPageDTO;
 import com.neu.nuboard.dto.EventResponseDTO;
 import com.neu.nuboard.exception.SuccessResponse;
+import com.neu.nuboard.service.EventArchiveService;
+import com.neu.nuboard.service.EventImportService;
 import com.neu.nuboard.service.EventService;
+import com.neu.nuboard.service.EventStreamService;
+import com.neu.nuboard.service.ExportService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -19,10 +32,19 @@ import java.util.List;
 @RequestMapping("/api/events")
 public class EventController {
     private final EventService eventService;
+    private final ExportService exportService;
+    private final EventStreamService eventStreamService;
+    private final EventArchiveService eventArchiveService;
+    private final EventImportService eventImportService;
 
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, ExportService exportService, EventStreamService eventStreamService,
+                           EventArchiveService eventArchiveService, EventImportService eventImportService) {
         this.eventService = eventService;
+        this.exportService = exportService;
+        this.eventStreamService = eventStreamService;
+        this.eventArchiveService = eventArchiveService;
+        this.eventImportService = eventImportService;
     }
 
     /**
@@ -47,16 +69,175 @@ public class EventController {
     }
 
     /**
-     * Searches events by keyword.
-     * @param keyword The search keyword.
+     * Retrieves the events created, updated or deleted since the client's last sync.
+     * @param since The nextToken of the previous response, omitted on the first sync.
+     * @param limit The maximum number of changes (1-100).
+     * @return The changed events, the deleted IDs and the next token wrapped in SuccessResponse.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<SuccessResponse<EventChangesDTO>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        EventChangesDTO changes = eventService.getChanges(since, limit);
+        return ResponseEntity.ok(new SuccessResponse<>(changes));
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of event changes: created, updated, deleted,
+     * and registrations (coalesced registration count deltas).
+     * @return The stream, without a SuccessResponse wrapper.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return eventStreamService.subscribe();
+    }
+
+    /**
+     * Retrieves one event with its registrations.
+     * @param id The ID of the event.
+     * @return The event details wrapped in SuccessResponse.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<SuccessResponse<EventResponseDTO>> getEventById(@PathVariable String id) {
+        EventResponseDTO event = eventService.getEventById(id);
+        return ResponseEntity.ok(new SuccessResponse<>(event));
+    }
+
+    /**
+     * Retrieves one page of events, ordered by start time, then ID.
+     * Selected instead of {@link #getAllEvents()} whenever the limit parameter is present.
+     * @param limit The page size.
+     * @param cursor The nextCursor of the previous page, omitted for the first page.
+     * @param locationId Optional location filter.
+     * @param organizerType Optional organizer type filter (SCHOOL or CORPORATE).
+     * @param from Optional lower bound on start time, inclusive.
+     * @param to Optional upper bound on start time, exclusive.
+     * @return The page of events and the next cursor wrapped in SuccessResponse.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<SuccessResponse<EventPageDTO>> getEventPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long locationId,
+            @RequestParam(required = false) String organizerType,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        EventPageDTO page = eventService.getEventPage(cursor, limit, locationId, organizerType, from, to);
+        return ResponseEntity.ok(new SuccessResponse<>(page));
+    }
+
+    /**
+     * Retrieves the events starting within a time window, e.g. "events in Boston this week".
+     * @param from Start of the window, inclusive.
+     * @param to End of the window, exclusive.
+     * @param locationId Optional location filter.
+     * @param organizerType Optional organizer type filter (SCHOOL or CORPORATE).
+     * @param limit The maximum number of events (1-100).
+     * @return List of events ordered by start time wrapped in SuccessResponse.
+     */
+    @GetMapping("/window")
+    public ResponseEntity<SuccessResponse<List<EventResponseDTO>>> getEventsInWindow(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) Long locationId,
+            @RequestParam(required = false) String organizerType,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<EventResponseDTO> events = eventService.getEventsInWindow(from, to, locationId, organizerType, limit);
+        return ResponseEntity.ok(new SuccessResponse<>(events));
+    }
+
+    /**
+     * Retrieves the next events that have not started yet, e.g. "upcoming corporate events".
+     * @param locationId Optional location filter.
+     * @param organizerType Optional organizer type filter (SCHOOL or CORPORATE).
+     * @param to Optional end of the window, exclusive.
+     * @param limit The maximum number of events (1-100).
+     * @return List of events ordered by start time wrapped in SuccessResponse.
+     */
+    @GetMapping("/upcoming")
+    public ResponseEntity<SuccessResponse<List<EventResponseDTO>>> getUpcomingEvents(
+            @RequestParam(required = false) Long locationId,
+            @RequestParam(required = false) String organizerType,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<EventResponseDTO> events = eventService.getUpcomingEvents(locationId, organizerType, to, limit);
+        return ResponseEntity.ok(new SuccessResponse<>(events));
+    }
+
+    /**
+     * Retrieves archived (long past) events starting within a time window, e.g. "Boston events in spring 2023".
+     * @param from Start of the window, inclusive.
+     * @param to End of the window, exclusive.
+     * @param locationId Optional location filter.
+     * @param limit The maximum number of events (1-100).
+     * @return List of archived events ordered by start time wrapped in SuccessResponse.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<SuccessResponse<List<EventResponseDTO>>> getArchivedEvents(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) Long locationId,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<EventResponseDTO> events = eventArchiveService.getArchivedEvents(from, to, locationId, limit);
+        return ResponseEntity.ok(new SuccessResponse<>(events));
+    }
+
+    /**
+     * Retrieves one archived event with its registrations.
+     * @param id The ID of the event.
+     * @return The event details wrapped in SuccessResponse.
+     */
+    @GetMapping("/archive/{id}")
+    public ResponseEntity<SuccessResponse<EventResponseDTO>> getArchivedEventById(@PathVariable String id) {
+        EventResponseDTO event = eventArchiveService.getArchivedEventById(id);
+        return ResponseEntity.ok(new SuccessResponse<>(event));
+    }
+
+    /**
+     * Searches events by keyword, best match first.
+     * @param keyword The search keywords.
+     * @param page The zero-based page number.
+     * @param size The page size.
      * @return List of matching events wrapped in SuccessResponse.
      */
     @GetMapping("/search")
-    public ResponseEntity<SuccessResponse<List<EventResponseDTO>>> searchEvents(@RequestParam String keyword) {
-        List<EventResponseDTO> events = eventService.searchEvents(keyword);
+    public ResponseEntity<SuccessResponse<List<EventResponseDTO>>> searchEvents(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<EventResponseDTO> events = eventService.searchEvents(keyword, page, size);
         return ResponseEntity.ok(new SuccessResponse<>(events));
     }
 
+    /**
+     * Exports all events as a file download, streamed row by row.
+     * @param format ndjson (default) or csv.
+     * @return The streamed events, without a SuccessResponse wrapper.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format exportFormat = ExportService.Format.fromParam(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events." + exportFormat.getExtension() + "\"")
+                .body(exportService.exportEvents(exportFormat));
+    }
+
+    /**
+     * Imports events from an upload, read row by row as it arrives.
+     * Invalid rows are skipped and reported; the valid rows are imported.
+     * @param format ndjson (default) or csv, in the format of the matching export.
+     * @param body The raw request body.
+     * @return The number of imported events and the errors of the skipped rows wrapped in SuccessResponse.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<SuccessResponse<EventImportResultDTO>> importEvents(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        EventImportResultDTO result = eventImportService.importEvents(body, format);
+        return ResponseEntity.ok(new SuccessResponse<>(result));
+    }
+
     /**
      * Updates an existing event.
      * @param id The ID of the event to update.
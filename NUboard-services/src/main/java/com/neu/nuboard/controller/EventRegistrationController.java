@@ -1,12 +1,21 @@
 package com.neu.nuboard.controller;
 
+import com.neu.nuboard.dto.BulkRegistrationRequestDTO;
+import com.neu.nuboard.dto.BulkRegistrationResultDTO;
 import com.neu.nuboard.dto.EventRegistrationDTO;
+import com.neu.nuboard.dto.RegistrationTicketDTO;
 import com.neu.nuboard.exception.SuccessResponse;
 import com.neu.nuboard.service.EventRegistrationService;
+import com.neu.nuboard.service.ExportService;
+import com.neu.nuboard.service.RegistrationQueueService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -19,14 +28,21 @@ import java.util.List;
 public class EventRegistrationController {
 
     private final EventRegistrationService registrationService;
+    private final ExportService exportService;
+    private final RegistrationQueueService registrationQueue;
 
     /**
-     * Constructs an EventRegistrationController with the specified EventRegistrationService.
+     * Constructs an EventRegistrationController with the specified services.
      *
      * @param registrationService the service to handle event-registration-related business logic
+     * @param exportService the service to stream registration exports
+     * @param registrationQueue the write-behind queue for asynchronous registrations
      */
-    public EventRegistrationController(EventRegistrationService registrationService) {
+    public EventRegistrationController(EventRegistrationService registrationService, ExportService exportService,
+                                       RegistrationQueueService registrationQueue) {
         this.registrationService = registrationService;
+        this.exportService = exportService;
+        this.registrationQueue = registrationQueue;
     }
 
     /**
@@ -35,17 +51,63 @@ public class EventRegistrationController {
      * @param eventId the ID of the event to register for
      * @param userId the ID of the user to register
      * @return a ResponseEntity containing a {@link SuccessResponse} with an {@link EventRegistrationDTO}
-     *         containing the event ID and user ID, and HTTP status 201 (Created)
+     *         containing the registration ID, event ID, user ID and status (REGISTERED or WAITLISTED),
+     *         and HTTP status 201 (Created)
      */
     @PostMapping("/register")
     public ResponseEntity<SuccessResponse<EventRegistrationDTO>> registerForEvent(
             @RequestParam("eventId") String eventId,
             @RequestParam("userId") String userId) {
-        registrationService.registerForEvent(eventId, userId);
-        EventRegistrationDTO responseDTO = new EventRegistrationDTO(null, eventId, userId);
+        EventRegistrationDTO responseDTO = registrationService.registerForEvent(eventId, userId);
         return ResponseEntity.status(HttpStatus.CREATED).body(new SuccessResponse<>(responseDTO));
     }
 
+    /**
+     * Queues a registration for a signup rush; it is written to the database shortly afterwards, in a batch.
+     * Clients poll the returned ticket for the outcome. Repeating the request while it is pending returns the same ticket.
+     *
+     * @param eventId the ID of the event to register for
+     * @param userId the ID of the user to register
+     * @return a ResponseEntity containing a {@link SuccessResponse} with a PENDING {@link RegistrationTicketDTO},
+     *         a Location header pointing at the ticket, and HTTP status 202 (Accepted);
+     *         429 (Too Many Requests) if the queue is full
+     */
+    @PostMapping("/async")
+    public ResponseEntity<SuccessResponse<RegistrationTicketDTO>> registerForEventAsync(
+            @RequestParam("eventId") String eventId,
+            @RequestParam("userId") String userId) {
+        RegistrationTicketDTO ticket = registrationQueue.enqueue(eventId, userId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/registrations/async/" + ticket.getTicket()))
+                .body(new SuccessResponse<>(ticket));
+    }
+
+    /**
+     * Retrieves the outcome of a queued registration.
+     *
+     * @param ticket the ticket returned by POST /api/registrations/async
+     * @return a ResponseEntity containing a {@link SuccessResponse} with the {@link RegistrationTicketDTO}
+     *         (PENDING until written) and HTTP status 200 (OK)
+     */
+    @GetMapping("/async/{ticket}")
+    public ResponseEntity<SuccessResponse<RegistrationTicketDTO>> getRegistrationTicket(@PathVariable String ticket) {
+        return ResponseEntity.ok(new SuccessResponse<>(registrationQueue.getTicket(ticket)));
+    }
+
+    /**
+     * Registers many users for one event, or one user for many events (e.g. an imported attendee list).
+     *
+     * @param request either eventId and userIds, or userId and eventIds; at most 10,000 IDs
+     * @return a ResponseEntity containing a {@link SuccessResponse} with one {@link BulkRegistrationResultDTO}
+     *         per distinct item (CREATED, ALREADY_REGISTERED, UNKNOWN_USER or UNKNOWN_EVENT), and HTTP status 200 (OK)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<SuccessResponse<List<BulkRegistrationResultDTO>>> bulkRegister(
+            @RequestBody BulkRegistrationRequestDTO request) {
+        List<BulkRegistrationResultDTO> results = registrationService.bulkRegister(request);
+        return ResponseEntity.ok(new SuccessResponse<>(results));
+    }
+
     /**
      * Unregisters a user from an event.
      *
@@ -87,6 +149,25 @@ public class EventRegistrationController {
         return ResponseEntity.ok(new SuccessResponse<>(registrations));
     }
 
+    /**
+     * Exports registrations as a file download, streamed row by row, e.g. an organizer's attendee list.
+     *
+     * @param format ndjson (default) or csv
+     * @param eventId the ID of the event to export, or omitted to export all registrations
+     * @return a ResponseEntity streaming the registrations, without a {@link SuccessResponse} wrapper
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRegistrations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String eventId) {
+        ExportService.Format exportFormat = ExportService.Format.fromParam(format);
+        StreamingResponseBody body = exportService.exportRegistrations(exportFormat, eventId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"registrations." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * Retrieves all event registrations.
      *
@@ -2,34 +2,37 @@ package com.neu.nuboard.controller;
 
 import com.neu.nuboard.dto.LocationResponseDTO;
 import com.neu.nuboard.exception.SuccessResponse;
-import com.neu.nuboard.model.Location;
-import com.neu.nuboard.repository.LocationRepository;
+import com.neu.nuboard.service.ReferenceDataRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-@CrossOrigin(origins = "http://localhost:5173/") // Make data transmit between different servers.
+@CrossOrigin(origins = "http://localhost:5173/", exposedHeaders = "ETag") // Make data transmit between different servers.
 @RestController
 @RequestMapping("/api/locations")
 public class LocationController {
 
-    private final LocationRepository locationRepository;
+    private final ReferenceDataRegistry referenceData;
 
-    public LocationController(LocationRepository locationRepository) {
-        this.locationRepository = locationRepository;
+    public LocationController(ReferenceDataRegistry referenceData) {
+        this.referenceData = referenceData;
     }
 
-    // Return all locations to the frontend.
+    // Return all locations to the frontend, served from memory.
+    // Clients that send back the ETag in If-None-Match get 304 Not Modified without a body.
     @GetMapping
-    public SuccessResponse<List<LocationResponseDTO>> getAllLocations() {
-        List<Location> locations = locationRepository.findAll();
-        List<LocationResponseDTO> locationDTOs = locations.stream().map(this::convertToDTO).collect(Collectors.toList());
-        return new SuccessResponse<>(locationDTOs);
-    }
-
-    // Entity → DTO
-    private LocationResponseDTO convertToDTO(Location entity) {
-        return new LocationResponseDTO(entity.getId(), entity.getName());
+    public ResponseEntity<SuccessResponse<List<LocationResponseDTO>>> getAllLocations(WebRequest request) {
+        String eTag = referenceData.getLocationsETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(new SuccessResponse<>(referenceData.getLocations()));
     }
 }
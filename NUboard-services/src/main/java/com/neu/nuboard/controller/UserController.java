@@ -3,7 +3,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -16,12 +18,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.neu.nuboard.dto.UserCreateDTO;
 import com.neu.nuboard.exception.BusinessException;
 import com.neu.nuboard.exception.ErrorCode;
 import com.neu.nuboard.exception.SuccessResponse;
 import com.neu.nuboard.model.User;
+import com.neu.nuboard.service.ExportService;
 import com.neu.nuboard.service.UserService;
 
 @CrossOrigin(origins = "http://localhost:5173/")
@@ -30,10 +34,12 @@ import com.neu.nuboard.service.UserService;
 public class UserController {
 
     private final UserService userService;
+    private final ExportService exportService;
     
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ExportService exportService) {
         this.userService = userService;
+        this.exportService = exportService;
     }
     
     /**
@@ -56,6 +62,22 @@ public class UserController {
         return ResponseEntity.ok(new SuccessResponse<>(response));
     }
     
+    /**
+     * 导出所有用户（以文件下载的形式逐行流式输出）
+     * 数据通过数据库游标分批读取并直接写入响应流，用户数量再多内存占用也不变。
+     * 固定路径/export优先于/{id}匹配，不会被当作用户ID。
+     * @param format 导出格式：ndjson（默认）或csv
+     * @return 流式响应体（不使用SuccessResponse包装）
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format exportFormat = ExportService.Format.fromParam(format);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + exportFormat.getExtension() + "\"")
+            .body(exportService.exportUsers(exportFormat));
+    }
+
     /**
      * 根据ID获取用户
      * @param id 用户ID
@@ -139,9 +161,10 @@ public class UserController {
      * @param user 用户实体
      * @return 响应Map
      */
-    private UserCreateDTO convertUserToDTO(User user) {
+    // 包级可见，供src/jmh中的UserControllerBenchmark测量
+    UserCreateDTO convertUserToDTO(User user) {
         UserCreateDTO dto = new UserCreateDTO();
-        dto.setId(user.getId());
+        dto.setId(user.getId().toString());
         dto.setUsername(user.getUsername());
         dto.setEmail(user.getEmail());
         dto.setProgram(user.getProgram());
@@ -0,0 +1,142 @@
+package com.neu.nuboard.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary/replica routing, enabled with nuboard.read-replicas.enabled.
+ * Replaces the auto-configured DataSource with LazyConnectionDataSourceProxy → {@link ReplicaRoutingDataSource},
+ * which still gets wrapped by {@code DataSourceProxyPostProcessor}, so statements on replicas are counted too.
+ * Without replicas nothing here is created and the application uses spring.datasource as before.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "nuboard.read-replicas", name = "enabled")
+public class ReadReplicaConfig implements DisposableBean {
+
+    private ReplicaRoutingDataSource routing;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReadReplicaProperties properties,
+                                 Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReadReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+            pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            // Start even if the replica is down; the health check takes it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaRoutingDataSource.Replica(pool.getPoolName(), pool));
+        }
+        routing = new ReplicaRoutingDataSource(primary, replicas, properties.getMaxLag(), properties.getConnectionTimeout());
+
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+        // Known up front, so creating the proxy does not open a connection
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazy;
+    }
+
+    /**
+     * By default Hibernate holds a connection for the whole session, i.e. the whole request with open-in-view,
+     * so a request that reads from a replica and then writes would send the write to the replica.
+     * Released after each transaction, every transaction gets a connection from its own target.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "nuboard.read-replicas.read-your-writes", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.getReadYourWrites().getWindow()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder readReplicaMetrics(DataSource dataSource) throws SQLException {
+        ReplicaRoutingDataSource routingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        return registry -> {
+            for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+                Gauge.builder("nuboard.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                        .description("Whether the replica is taking reads (1) or not (0)")
+                        .tag("replica", replica.getName())
+                        .register(registry);
+                Gauge.builder("nuboard.datasource.replica.lag", replica, r -> r.getLagMillis() / 1000.0)
+                        .description("Replication lag measured by the last health check")
+                        .baseUnit("seconds")
+                        .tag("replica", replica.getName())
+                        .register(registry);
+            }
+            FunctionCounter.builder("nuboard.datasource.replica.reads", routingDataSource, ReplicaRoutingDataSource::getReplicaReads)
+                    .description("Read-only transactions served by a replica")
+                    .register(registry);
+            FunctionCounter.builder("nuboard.datasource.replica.fallbacks", routingDataSource, ReplicaRoutingDataSource::getPrimaryFallbacks)
+                    .description("Read-only transactions sent to the primary because no replica was available")
+                    .register(registry);
+            // The auto-configured HikariCP metrics only see the primary pool
+            for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+                if (replica.getDataSource() instanceof HikariDataSource hikari
+                        && hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${nuboard.read-replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (routing != null) {
+            routing.checkReplicas();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (routing != null) {
+            routing.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.neu.nuboard.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions, bound from nuboard.read-replicas.
+ * The primary stays spring.datasource.
+ */
+@ConfigurationProperties(prefix = "nuboard.read-replicas")
+public class ReadReplicaProperties {
+
+    /**
+     * Route read-only transactions to the replicas. When false the application uses spring.datasource only.
+     */
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Connections per replica pool.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * How long to wait for a replica connection before falling back to the primary.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /**
+     * A replica further behind the primary than this is not read from until it catches up.
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+    public Duration getConnectionTimeout() { return connectionTimeout; }
+    public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+
+    public ReadYourWrites getReadYourWrites() { return readYourWrites; }
+
+    public static class Replica {
+
+        private String url;
+
+        /**
+         * Defaults to spring.datasource.username.
+         */
+        private String username;
+
+        /**
+         * Defaults to spring.datasource.password.
+         */
+        private String password;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    public static class ReadYourWrites {
+
+        /**
+         * After a client's write, send that client's reads to the primary for a while (tracked with a cookie).
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a client's reads go to the primary after its last write; should exceed the usual replica lag.
+         */
+        private Duration window = Duration.ofSeconds(5);
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public Duration getWindow() { return window; }
+        public void setWindow(Duration window) { this.window = window; }
+    }
+}
@@ -0,0 +1,195 @@
+package com.neu.nuboard.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the connections of read-only transactions ({@code @Transactional(readOnly = true)}) to a healthy replica,
+ * round-robin, and everything else to the primary.
+ * <p>
+ * Reads go to the primary instead when no replica is healthy, when the chosen replica refuses a connection
+ * (it is then marked down until the next health check), or when the current request is pinned to the primary
+ * for read-your-writes. Must sit behind a LazyConnectionDataSourceProxy: the transaction manager opens the
+ * connection before the transaction is marked read-only, so the target can only be chosen at the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    // Replay lag in seconds; 0 while the replica has replayed everything it received, or for a server that is no replica
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final ThreadLocal<Boolean> primaryPinned = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final int checkTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryFallbacks = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag, Duration checkTimeout) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkTimeoutSeconds = (int) Math.max(1, checkTimeout.toSeconds());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Sends the reads of the current thread to the primary, or stops doing so.
+     * @param pinned True to pin, false to clear.
+     */
+    public static void setPrimaryPinned(boolean pinned) {
+        if (pinned) {
+            primaryPinned.set(Boolean.TRUE);
+        } else {
+            primaryPinned.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly() || primaryPinned.get() != null) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        primaryFallbacks.incrementAndGet();
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        Replica replica = replicas.stream().filter(candidate -> candidate.name.equals(key)).findFirst().orElseThrow();
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replicaReads.incrementAndGet();
+            return connection;
+        } catch (SQLException e) {
+            markDown(replica, e.getMessage());
+            primaryFallbacks.incrementAndGet();
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Checks every replica's connectivity and replay lag; run periodically.
+     * A replica that is unreachable or lags more than the configured maximum gets no reads until a later check passes.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(checkTimeoutSeconds);
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    replica.lagMillis = (long) (resultSet.getDouble(1) * 1000);
+                }
+                if (replica.lagMillis > maxLagMillis) {
+                    markDown(replica, "replication lag " + replica.lagMillis + " ms");
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Read replica {} is up, replication lag {} ms", replica.name, replica.lagMillis);
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    private static void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} is down, reading from the primary: {}", replica.name, reason);
+        }
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     */
+    public void close() {
+        closePool(primary);
+        replicas.forEach(replica -> closePool(replica.dataSource));
+    }
+
+    private static void closePool(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close connection pool", e);
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() { return replicas; }
+
+    /**
+     * @return Connections handed out by replicas since startup.
+     */
+    public long getReplicaReads() { return replicaReads.get(); }
+
+    /**
+     * @return Read-only transactions sent to the primary because no replica was available.
+     */
+    public long getPrimaryFallbacks() { return primaryFallbacks.get(); }
+
+    /**
+     * One replica's pool and its state from the last health check.
+     */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Down until the first health check passes
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() { return name; }
+
+        DataSource getDataSource() { return dataSource; }
+
+        public boolean isHealthy() { return healthy; }
+
+        public long getLagMillis() { return lagMillis; }
+    }
+}
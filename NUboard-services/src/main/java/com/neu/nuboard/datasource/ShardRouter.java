@@ -0,0 +1,281 @@
+package com.neu.nuboard.datasource;
+
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import com.neu.nuboard.monitoring.QueryStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard (database) a piece of work runs against, and runs cross-campus queries on all shards at once.
+ * <p>
+ * Every location belongs to exactly one shard, and an event or user lives in the shard of its location.
+ * Services select the shard of the entity they work on with {@link #bind(String)} at the start of their transaction,
+ * or run work in another shard with {@link #inTransaction}. Queries over every campus go through {@link #gather},
+ * which queries the shards in parallel, each in its own transaction, and merges the results in order.
+ * <p>
+ * Without nuboard.sharding.enabled there is a single shard, binding does nothing and all work runs in the
+ * caller's transaction, so the single-database code paths issue exactly the same statements as before.
+ */
+@Component
+public class ShardRouter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRouter.class);
+
+    private final boolean enabled;
+    private final String defaultShard;
+    private final List<String> shards;
+    private final Map<Long, String> shardByLocation = new HashMap<>();
+    private final long scatterTimeoutNanos;
+    private final TransactionTemplate joinTransaction;
+    private final TransactionTemplate joinReadOnlyTransaction;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate newReadOnlyTransaction;
+    private final ExecutorService executor;
+
+    public ShardRouter(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        this.enabled = properties.isEnabled();
+        this.defaultShard = properties.getDefaultShard();
+        List<String> names = new ArrayList<>();
+        names.add(defaultShard);
+        if (enabled) {
+            properties.getShards().forEach((name, shard) -> {
+                if (name.equals(defaultShard)) {
+                    throw new IllegalStateException("nuboard.sharding.shards." + name + " is the default shard, which is spring.datasource");
+                }
+                names.add(name);
+                for (Long location : shard.getLocations()) {
+                    String previous = shardByLocation.put(location, name);
+                    if (previous != null) {
+                        throw new IllegalStateException("Location " + location + " is assigned to shards " + previous + " and " + name);
+                    }
+                }
+            });
+        }
+        this.shards = Collections.unmodifiableList(names);
+        this.scatterTimeoutNanos = properties.getScatterTimeout().toNanos();
+
+        this.joinTransaction = new TransactionTemplate(transactionManager);
+        this.joinReadOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.joinReadOnlyTransaction.setReadOnly(true);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.newReadOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.newReadOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.newReadOnlyTransaction.setReadOnly(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = enabled
+                ? Executors.newFixedThreadPool(properties.getScatterThreads(), runnable -> {
+                    Thread thread = new Thread(runnable, "nuboard-shard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /**
+     * @return The shard that spring.datasource points at.
+     */
+    public String getDefaultShard() { return defaultShard; }
+
+    /**
+     * @return The shard names, the default shard first.
+     */
+    public List<String> getShards() { return shards; }
+
+    /**
+     * @param locationId The ID of a location, or null.
+     * @return The shard holding the events and users of the location; the default shard for unassigned locations.
+     */
+    public String shardForLocation(Long locationId) {
+        String shard = locationId == null ? null : shardByLocation.get(locationId);
+        return shard != null ? shard : defaultShard;
+    }
+
+    /**
+     * @return The shards holding the given location, i.e. one shard, or every shard for a null location.
+     */
+    public List<String> shardsForLocation(Long locationId) {
+        return locationId == null ? shards : List.of(shardForLocation(locationId));
+    }
+
+    /**
+     * Sends the statements of the current transaction to a shard.
+     * Must be called inside a transaction and before its first statement; the binding ends with the transaction.
+     * @param shard The shard name.
+     * @throws IllegalStateException if there is no transaction, or it is already bound to another shard.
+     */
+    public void bind(String shard) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A shard can only be bound inside a transaction");
+        }
+        Object bound = TransactionSynchronizationManager.getResource(this);
+        if (bound != null) {
+            if (!bound.equals(shard)) {
+                throw new IllegalStateException("The transaction is bound to shard " + bound + ", not " + shard);
+            }
+            return;
+        }
+        String previous = ShardRoutingDataSource.getCurrentShard();
+        TransactionSynchronizationManager.bindResource(this, shard);
+        ShardRoutingDataSource.setCurrentShard(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ShardRouter.this);
+                ShardRoutingDataSource.setCurrentShard(previous);
+            }
+        });
+    }
+
+    /**
+     * Runs work in its own transaction on a shard, suspending the caller's transaction (and its shard) meanwhile.
+     * Without sharding the work joins the caller's transaction, or starts one if there is none.
+     * @param shard The shard name.
+     * @param readOnly Whether the work only reads.
+     * @param work The work; everything it reads or writes goes to the shard.
+     * @return The result of the work.
+     */
+    public <T> T inTransaction(String shard, boolean readOnly, Supplier<T> work) {
+        if (!enabled) {
+            return (readOnly ? joinReadOnlyTransaction : joinTransaction).execute(status -> work.get());
+        }
+        Object outer = TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        try {
+            return (readOnly ? newReadOnlyTransaction : newTransaction).execute(status -> {
+                bind(shard);
+                return work.get();
+            });
+        } finally {
+            if (outer != null) {
+                TransactionSynchronizationManager.bindResource(this, outer);
+            }
+        }
+    }
+
+    /**
+     * Runs a query on every shard in parallel and merges the results.
+     * @param query The query for one shard; the rows must be fully loaded, the shard's transaction ends with it.
+     * @param order The order of the merged rows.
+     * @return The rows of all shards in order. With a single shard, the rows of its query as they are.
+     */
+    public <T> List<T> gather(Function<String, List<T>> query, Comparator<? super T> order) {
+        return gather(shards, query, order, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs a query on some shards in parallel and merges the first rows of the results.
+     * For a correct top-N, each shard's query must itself return its first {@code limit} rows in the same order.
+     * @param targets The shards to query.
+     * @param query The query for one shard; the rows must be fully loaded, the shard's transaction ends with it.
+     * @param order The order of the merged rows.
+     * @param limit The maximum number of rows returned.
+     * @return The first rows of all shards in order. With a single shard, the rows of its query as they are.
+     * @throws BusinessException SHARD_UNAVAILABLE if a shard fails or does not answer within the scatter timeout.
+     */
+    public <T> List<T> gather(Collection<String> targets, Function<String, List<T>> query,
+                              Comparator<? super T> order, int limit) {
+        if (targets.size() == 1) {
+            String shard = targets.iterator().next();
+            return inTransaction(shard, true, () -> query.apply(shard));
+        }
+        List<T> merged = new ArrayList<>();
+        scatter(targets, true, query).values().forEach(merged::addAll);
+        merged.sort(order);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Runs work on every shard in parallel, each shard in its own transaction.
+     * The shards commit independently: writes that must not be left half done across shards have to be idempotent,
+     * so that a retry completes them.
+     * @param readOnly Whether the work only reads.
+     * @param work The work for one shard.
+     * @return The result of each shard, by shard name.
+     * @throws BusinessException SHARD_UNAVAILABLE if a shard fails or does not answer within the scatter timeout.
+     */
+    public <T> Map<String, T> onEveryShard(boolean readOnly, Function<String, T> work) {
+        if (!enabled) {
+            return Collections.singletonMap(defaultShard, inTransaction(defaultShard, readOnly, () -> work.apply(defaultShard)));
+        }
+        return scatter(shards, readOnly, work);
+    }
+
+    private <T> Map<String, T> scatter(Collection<String> targets, boolean readOnly, Function<String, T> work) {
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        for (String shard : targets) {
+            // Counted for the request's statement budget, like the statements run on its own thread
+            futures.put(shard, executor.submit(
+                    QueryStats.propagate(() -> inTransaction(shard, readOnly, () -> work.apply(shard)))));
+        }
+        long deadline = System.nanoTime() + scatterTimeoutNanos;
+        Map<String, T> results = new LinkedHashMap<>();
+        String current = null;
+        try {
+            for (Map.Entry<String, Future<T>> future : futures.entrySet()) {
+                current = future.getKey();
+                results.put(current, future.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (ExecutionException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof CannotCreateTransactionException || cause instanceof DataAccessResourceFailureException) {
+                log.warn("Shard {} is unavailable", current, cause);
+                throw new BusinessException(ErrorCode.SHARD_UNAVAILABLE);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            log.warn("Shard {} did not answer within {} ms", current, TimeUnit.NANOSECONDS.toMillis(scatterTimeoutNanos));
+            throw new BusinessException(ErrorCode.SHARD_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SHARD_UNAVAILABLE);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.neu.nuboard.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections of the shard selected for the current thread, or of the default shard when none is.
+ * <p>
+ * The shard is selected through {@link ShardRouter}, never directly. Must sit behind a LazyConnectionDataSourceProxy:
+ * a transaction is begun before the service knows which entity, and so which shard, it works on,
+ * so the target can only be chosen at the first statement.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRoutingDataSource.class);
+
+    private static final ThreadLocal<String> currentShard = new ThreadLocal<>();
+
+    private final Map<String, DataSource> shards;
+
+    public ShardRoutingDataSource(Map<String, DataSource> shards, String defaultShard) {
+        this.shards = shards;
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(defaultShard));
+        // An unknown shard name is a bug, not a reason to write to the default shard
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return The shard selected for the current thread, or null for the default shard.
+     */
+    static String getCurrentShard() {
+        return currentShard.get();
+    }
+
+    /**
+     * Selects the shard for the connections the current thread opens from now on.
+     * @param shard The shard name, or null for the default shard.
+     */
+    static void setCurrentShard(String shard) {
+        if (shard == null) {
+            currentShard.remove();
+        } else {
+            currentShard.set(shard);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentShard.get();
+    }
+
+    public Map<String, DataSource> getShards() { return shards; }
+
+    /**
+     * Closes every shard's pool.
+     */
+    public void close() {
+        shards.values().forEach(dataSource -> {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close connection pool", e);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.neu.nuboard.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Campus sharding, enabled with nuboard.sharding.enabled; see {@link ShardRouter}.
+ * Replaces the auto-configured DataSource with LazyConnectionDataSourceProxy → {@link ShardRoutingDataSource},
+ * which still gets wrapped by {@code DataSourceProxyPostProcessor}, so statements on every shard are counted.
+ * Without sharding only the properties and the (pass-through) ShardRouter exist.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig implements DisposableBean {
+
+    private ShardRoutingDataSource routing;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "nuboard.sharding", name = "enabled")
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ShardingProperties properties,
+                                 Environment environment) {
+        if (environment.getProperty("nuboard.read-replicas.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("nuboard.sharding and nuboard.read-replicas cannot be enabled together");
+        }
+        // Entities are loaded in the shard's transaction; lazy loading after it would read from the default shard
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("nuboard.sharding requires spring.jpa.open-in-view=false");
+        }
+
+        HikariDataSource main = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(main));
+        main.setPoolName("shard-" + properties.getDefaultShard());
+
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put(properties.getDefaultShard(), main);
+        properties.getShards().forEach((name, shard) -> {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(shard.getUrl())
+                    .username(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.determineUsername())
+                    .password(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            pool.setPoolName("shard-" + name);
+            pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+            shards.put(name, pool);
+        });
+        routing = new ShardRoutingDataSource(shards, properties.getDefaultShard());
+
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+        // Known up front, so creating the proxy does not open a connection
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazy;
+    }
+
+    /**
+     * A Hibernate session holds its connection until it closes by default, so a session that first read
+     * one shard would send everything after that to the same shard. Released after each transaction,
+     * every transaction gets a connection from the shard it is bound to.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "nuboard.sharding", name = "enabled")
+    public HibernatePropertiesCustomizer releaseShardConnectionsAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Flyway is auto-configured for spring.datasource, which is the default shard.
+     * Every other shard gets the same migrations right after it, before the application starts using them.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "nuboard.sharding", name = "enabled")
+    public FlywayMigrationStrategy migrateEveryShard(DataSource dataSource, ShardingProperties properties) {
+        return flyway -> {
+            flyway.migrate();
+            Map<String, DataSource> shards;
+            try {
+                shards = dataSource.unwrap(ShardRoutingDataSource.class).getShards();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            properties.getShards().keySet().forEach(name -> Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(shards.get(name))
+                    .load()
+                    .migrate());
+        };
+    }
+
+    /**
+     * The auto-configured HikariCP metrics only see the default shard's pool.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "nuboard.sharding", name = "enabled")
+    public MeterBinder shardPoolMetrics(DataSource dataSource) throws SQLException {
+        ShardRoutingDataSource routingDataSource = dataSource.unwrap(ShardRoutingDataSource.class);
+        return registry -> routingDataSource.getShards().values().forEach(shard -> {
+            if (shard instanceof HikariDataSource hikari
+                    && hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (routing != null) {
+            routing.close();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.neu.nuboard.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Campus shards, bound from nuboard.sharding.
+ * spring.datasource is the default shard; every location not listed under another shard lives there.
+ */
+@ConfigurationProperties(prefix = "nuboard.sharding")
+public class ShardingProperties {
+
+    /**
+     * Store each campus's events and users in the database of its shard. When false everything is in spring.datasource.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Name of the shard that spring.datasource points at.
+     */
+    private String defaultShard = "main";
+
+    /**
+     * The other shards by name.
+     */
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    /**
+     * Connections per shard pool, other than the default shard's (spring.datasource.hikari).
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Threads that run the per-shard parts of cross-campus queries.
+     */
+    private int scatterThreads = 16;
+
+    /**
+     * How long a cross-campus query waits for all shards before failing.
+     */
+    private Duration scatterTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Event and user IDs whose shard is remembered; a miss asks every shard.
+     */
+    private long directorySize = 100_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getDefaultShard() { return defaultShard; }
+    public void setDefaultShard(String defaultShard) { this.defaultShard = defaultShard; }
+
+    public Map<String, Shard> getShards() { return shards; }
+    public void setShards(Map<String, Shard> shards) { this.shards = shards; }
+
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+    public int getScatterThreads() { return scatterThreads; }
+    public void setScatterThreads(int scatterThreads) { this.scatterThreads = scatterThreads; }
+
+    public Duration getScatterTimeout() { return scatterTimeout; }
+    public void setScatterTimeout(Duration scatterTimeout) { this.scatterTimeout = scatterTimeout; }
+
+    public long getDirectorySize() { return directorySize; }
+    public void setDirectorySize(long directorySize) { this.directorySize = directorySize; }
+
+    public static class Shard {
+
+        private String url;
+
+        /**
+         * Defaults to spring.datasource.username.
+         */
+        private String username;
+
+        /**
+         * Defaults to spring.datasource.password.
+         */
+        private String password;
+
+        /**
+         * IDs of the locations (campuses) whose events and users live in this shard.
+         */
+        private List<Long> locations = new ArrayList<>();
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public List<Long> getLocations() { return locations; }
+        public void setLocations(List<Long> locations) { this.locations = locations; }
+    }
+}
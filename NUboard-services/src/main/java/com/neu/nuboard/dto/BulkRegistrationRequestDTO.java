@@ -0,0 +1,44 @@
+package com.neu.nuboard.dto;
+
+import java.util.List;
+
+/**
+ * DTO for registering many users at once.
+ * Set either eventId and userIds (an attendee list for one event)
+ * or userId and eventIds (one user signing up for many events).
+ */
+public class BulkRegistrationRequestDTO {
+
+    private String eventId;
+    private List<String> userIds;
+    private String userId;
+    private List<String> eventIds;
+
+    /**
+     * Get the ID of the event to register the users for.
+     * @return The ID of the event.
+     */
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    /**
+     * Get the IDs of the users to register for the event.
+     * @return The IDs of the users.
+     */
+    public List<String> getUserIds() { return userIds; }
+    public void setUserIds(List<String> userIds) { this.userIds = userIds; }
+
+    /**
+     * Get the ID of the user to register for the events.
+     * @return The ID of the user.
+     */
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    /**
+     * Get the IDs of the events to register the user for.
+     * @return The IDs of the events.
+     */
+    public List<String> getEventIds() { return eventIds; }
+    public void setEventIds(List<String> eventIds) { this.eventIds = eventIds; }
+}
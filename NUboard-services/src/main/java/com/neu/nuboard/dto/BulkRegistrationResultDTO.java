@@ -0,0 +1,66 @@
+package com.neu.nuboard.dto;
+
+import com.neu.nuboard.model.EventRegistration.Status;
+
+/**
+ * DTO for the outcome of one item of a bulk registration.
+ */
+public class BulkRegistrationResultDTO {
+    public enum Result {
+        CREATED,
+        ALREADY_REGISTERED,
+        UNKNOWN_USER,
+        UNKNOWN_EVENT
+    }
+
+    private String eventId;
+    private String userId;
+    private Result result;
+    private Status status;
+
+    public BulkRegistrationResultDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param eventId The ID of the event.
+     * @param userId The ID of the user.
+     * @param result What happened to this item.
+     * @param status The status of the new registration, or null if none was created.
+     */
+    public BulkRegistrationResultDTO(String eventId, String userId, Result result, Status status) {
+        this.eventId = eventId;
+        this.userId = userId;
+        this.result = result;
+        this.status = status;
+    }
+
+    /**
+     * Get the ID of the event.
+     * @return The ID of the event.
+     */
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    /**
+     * Get the ID of the user.
+     * @return The ID of the user.
+     */
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    /**
+     * Get the outcome of this item.
+     * @return CREATED, ALREADY_REGISTERED, UNKNOWN_USER or UNKNOWN_EVENT.
+     */
+    public Result getResult() { return result; }
+    public void setResult(Result result) { this.result = result; }
+
+    /**
+     * Get the status of the created registration.
+     * @return REGISTERED or WAITLISTED if the registration was created, null otherwise.
+     */
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+}
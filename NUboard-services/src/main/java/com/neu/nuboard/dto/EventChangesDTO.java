@@ -0,0 +1,54 @@
+package com.neu.nuboard.dto;
+
+import java.util.List;
+
+/**
+ * DTO for returning the events that changed since a sync token in API responses.
+ * Clients replace their copy of every changed event, remove the deleted ones,
+ * and send nextToken with the next request.
+ */
+public class EventChangesDTO {
+
+    private List<EventResponseDTO> changed;
+    private List<String> deleted;
+    private String nextToken;
+    private boolean hasMore;
+
+    public EventChangesDTO() {
+    }
+
+    public EventChangesDTO(List<EventResponseDTO> changed, List<String> deleted, String nextToken, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Get the created or updated events, including registration changes.
+     * @return The events in their current state, in change order.
+     */
+    public List<EventResponseDTO> getChanged() { return changed; }
+    public void setChanged(List<EventResponseDTO> changed) { this.changed = changed; }
+
+    /**
+     * Get the events that were deleted.
+     * @return The IDs of the deleted events.
+     */
+    public List<String> getDeleted() { return deleted; }
+    public void setDeleted(List<String> deleted) { this.deleted = deleted; }
+
+    /**
+     * Get the token to request the next changes with.
+     * @return The opaque token.
+     */
+    public String getNextToken() { return nextToken; }
+    public void setNextToken(String nextToken) { this.nextToken = nextToken; }
+
+    /**
+     * Whether more changes are waiting; if so, request them right away with nextToken.
+     * @return True if this response was cut off at the limit.
+     */
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -28,6 +28,10 @@ public class EventCreateDTO {
     private String address;
     private String creatorId;
     private String organizerType;
+    private Integer capacity;
+    // Parsed once, on validation or first use; reset when the string changes
+    private LocalDateTime parsedStartTime;
+    private LocalDateTime parsedEndTime;
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
@@ -60,11 +64,14 @@ public class EventCreateDTO {
      * @return The start time of the event.
      */
     public LocalDateTime getStartTime() {
-        try {
-            return LocalDateTime.parse(startTime, formatter);
-        } catch (DateTimeParseException e) {
-            throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
+        if (parsedStartTime == null) {
+            try {
+                parsedStartTime = LocalDateTime.parse(startTime, formatter);
+            } catch (DateTimeParseException e) {
+                throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
+            }
         }
+        return parsedStartTime;
     }
     
     public void setStartTime(String startTime) {
@@ -72,6 +79,7 @@ public class EventCreateDTO {
             throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
         }
         this.startTime = startTime;
+        this.parsedStartTime = null;
     }
 
     /**
@@ -79,29 +87,31 @@ public class EventCreateDTO {
      * @return The end time of the event.
      */
     public LocalDateTime getEndTime() {
-        try {
-            return LocalDateTime.parse(endTime, formatter);
-        } catch (DateTimeParseException e) {
-            throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
+        if (parsedEndTime == null) {
+            try {
+                parsedEndTime = LocalDateTime.parse(endTime, formatter);
+            } catch (DateTimeParseException e) {
+                throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
+            }
         }
+        return parsedEndTime;
     }
     
     public void setEndTime(String endTime) {
         if (endTime == null || endTime.trim().isEmpty()) {
             throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
         }
+        LocalDateTime end;
         try {
-            LocalDateTime end = LocalDateTime.parse(endTime, formatter);
-            if (startTime != null) {
-                LocalDateTime start = LocalDateTime.parse(startTime, formatter);
-                if (end.isBefore(start)) {
-                    throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
-                }
-            }
+            end = LocalDateTime.parse(endTime, formatter);
         } catch (DateTimeParseException e) {
             throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
         }
+        if (startTime != null && end.isBefore(getStartTime())) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
+        }
         this.endTime = endTime;
+        this.parsedEndTime = end;
     }
 
     /**
@@ -166,4 +176,16 @@ public class EventCreateDTO {
         }
         this.organizerType = organizerType;
     }
+
+    /**
+     * Get the capacity of the event.
+     * @return The maximum number of registered users, or null for no limit.
+     */
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) {
+        if (capacity != null && capacity < 1) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_CAPACITY);
+        }
+        this.capacity = capacity;
+    }
 }
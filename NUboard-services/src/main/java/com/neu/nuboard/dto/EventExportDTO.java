@@ -0,0 +1,60 @@
+package com.neu.nuboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.neu.nuboard.model.Event.OrganizerType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for one row of the event export.
+ * Flat on purpose: registrations are exported separately, so a row never pulls in a collection.
+ */
+public class EventExportDTO {
+
+    private final String id;
+    private final String title;
+    private final String description;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime startTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime endTime;
+    private final Long locationId;
+    private final String address;
+    private final String creatorId;
+    private final OrganizerType organizerType;
+    private final Integer capacity;
+    private final int registeredCount;
+
+    /**
+     * Constructor used by the JPQL projection in EventRepository.
+     */
+    public EventExportDTO(UUID id, String title, String description, LocalDateTime startTime,
+                          LocalDateTime endTime, Long locationId, String address, String creatorId,
+                          OrganizerType organizerType, Integer capacity, int registeredCount) {
+        this.id = id.toString();
+        this.title = title;
+        this.description = description;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.locationId = locationId;
+        this.address = address;
+        this.creatorId = creatorId;
+        this.organizerType = organizerType;
+        this.capacity = capacity;
+        this.registeredCount = registeredCount;
+    }
+
+    public String getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public Long getLocationId() { return locationId; }
+    public String getAddress() { return address; }
+    public String getCreatorId() { return creatorId; }
+    public OrganizerType getOrganizerType() { return organizerType; }
+    public Integer getCapacity() { return capacity; }
+    public int getRegisteredCount() { return registeredCount; }
+}
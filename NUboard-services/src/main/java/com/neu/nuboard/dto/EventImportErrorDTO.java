@@ -0,0 +1,47 @@
+package com.neu.nuboard.dto;
+
+/**
+ * DTO for a row of an event import that was not imported.
+ */
+public class EventImportErrorDTO {
+    private long row;
+    private int code;
+    private String message;
+
+    public EventImportErrorDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param row The number of the row in the upload, starting at 1; a CSV header and blank lines are not counted.
+     * @param code The error code, as in an error response.
+     * @param message The error message.
+     */
+    public EventImportErrorDTO(long row, int code, String message) {
+        this.row = row;
+        this.code = code;
+        this.message = message;
+    }
+
+    /**
+     * Get the number of the row.
+     * @return The number of the row in the upload, starting at 1.
+     */
+    public long getRow() { return row; }
+    public void setRow(long row) { this.row = row; }
+
+    /**
+     * Get the error code.
+     * @return The error code, e.g. 3003 for an invalid time.
+     */
+    public int getCode() { return code; }
+    public void setCode(int code) { this.code = code; }
+
+    /**
+     * Get the error message.
+     * @return The error message.
+     */
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,59 @@
+package com.neu.nuboard.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of an event import.
+ */
+public class EventImportResultDTO {
+    private long imported;
+    private long failed;
+    private List<EventImportErrorDTO> errors;
+    private boolean errorsTruncated;
+
+    public EventImportResultDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param imported The number of events created.
+     * @param failed The number of rows not imported.
+     * @param errors The first errors, in row order.
+     * @param errorsTruncated Whether more rows failed than are listed in errors.
+     */
+    public EventImportResultDTO(long imported, long failed, List<EventImportErrorDTO> errors, boolean errorsTruncated) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    /**
+     * Get the number of events created.
+     * @return The number of events created.
+     */
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    /**
+     * Get the number of rows not imported.
+     * @return The number of rows not imported.
+     */
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    /**
+     * Get the errors of the rows not imported.
+     * @return The first errors, in row order.
+     */
+    public List<EventImportErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<EventImportErrorDTO> errors) { this.errors = errors; }
+
+    /**
+     * Get whether the error list was cut short.
+     * @return True if more rows failed than are listed in errors.
+     */
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+}
@@ -0,0 +1,63 @@
+package com.neu.nuboard.dto;
+
+/**
+ * DTO for one message on the live event stream (GET /api/events/stream).
+ * The SSE event name is the type in lower case, e.g. "created" or "registrations".
+ */
+public class EventNotificationDTO {
+
+    public enum Type {
+        // event is the new event
+        CREATED,
+        // event is the event after the update
+        UPDATED,
+        // only eventId is set
+        DELETED,
+        // registeredDelta and waitlistedDelta sum up all registration changes since the previous message
+        REGISTRATIONS
+    }
+
+    private Type type;
+    private String eventId;
+    private EventResponseDTO event;
+    private int registeredDelta;
+    private int waitlistedDelta;
+
+    public EventNotificationDTO() {
+    }
+
+    public EventNotificationDTO(Type type, String eventId, EventResponseDTO event, int registeredDelta, int waitlistedDelta) {
+        this.type = type;
+        this.eventId = eventId;
+        this.event = event;
+        this.registeredDelta = registeredDelta;
+        this.waitlistedDelta = waitlistedDelta;
+    }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    /**
+     * Get the event for CREATED and UPDATED messages.
+     * @return The event, or null for other types.
+     */
+    public EventResponseDTO getEvent() { return event; }
+    public void setEvent(EventResponseDTO event) { this.event = event; }
+
+    /**
+     * Get the change in taken seats for REGISTRATIONS messages.
+     * @return The number of seats taken minus the number released.
+     */
+    public int getRegisteredDelta() { return registeredDelta; }
+    public void setRegisteredDelta(int registeredDelta) { this.registeredDelta = registeredDelta; }
+
+    /**
+     * Get the change in waitlist length for REGISTRATIONS messages.
+     * @return The number of users waitlisted minus the number promoted or unregistered.
+     */
+    public int getWaitlistedDelta() { return waitlistedDelta; }
+    public void setWaitlistedDelta(int waitlistedDelta) { this.waitlistedDelta = waitlistedDelta; }
+}
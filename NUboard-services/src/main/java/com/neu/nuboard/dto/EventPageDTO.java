@@ -0,0 +1,35 @@
+package com.neu.nuboard.dto;
+
+import java.util.List;
+
+/**
+ * DTO for returning one page of events in API responses.
+ * nextCursor is null when there are no more events to fetch.
+ */
+public class EventPageDTO {
+
+    private List<EventResponseDTO> events;
+    private String nextCursor;
+
+    public EventPageDTO() {
+    }
+
+    public EventPageDTO(List<EventResponseDTO> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the events on this page.
+     * @return The events ordered by start time, then ID.
+     */
+    public List<EventResponseDTO> getEvents() { return events; }
+    public void setEvents(List<EventResponseDTO> events) { this.events = events; }
+
+    /**
+     * Get the cursor to request the next page with.
+     * @return The opaque cursor, or null if this is the last page.
+     */
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -1,10 +1,13 @@
 package com.neu.nuboard.dto;
 
+import com.neu.nuboard.model.EventRegistration.Status;
+
 public class EventRegistrationDTO {
 
     private Long id;
     private String eventId;
     private String userId;
+    private Status status;
 
     /**
      * Default constructor.
@@ -25,6 +28,19 @@ public class EventRegistrationDTO {
         this.userId = userId;
     }
 
+    /**
+     * Constructor with all fields, including the registration status.
+     *
+     * @param id The ID of the registration record.
+     * @param eventId The ID of the event.
+     * @param userId The ID of the user.
+     * @param status Whether the user holds a seat or is waitlisted.
+     */
+    public EventRegistrationDTO(Long id, String eventId, String userId, Status status) {
+        this(id, eventId, userId);
+        this.status = status;
+    }
+
     /**
      * Get the ID of the registration record.
      * @return The ID of the registration record.
@@ -45,4 +61,11 @@ public class EventRegistrationDTO {
      */
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
+
+    /**
+     * Get the status of the registration.
+     * @return REGISTERED if the user holds a seat, WAITLISTED otherwise.
+     */
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
 }
@@ -23,6 +23,8 @@ public class EventResponseDTO {
     private String address;
     private String creatorId;
     private OrganizerType organizerType;
+    private Integer capacity;
+    private int registeredCount;
     private Set<EventRegistrationDTO> registrations;
 
     /**
@@ -88,6 +90,20 @@ public class EventResponseDTO {
     public OrganizerType getOrganizerType() { return organizerType; }
     public void setOrganizerType(OrganizerType organizerType) { this.organizerType = organizerType; }
 
+    /**
+     * Get the capacity of the event.
+     * @return The maximum number of registered users, or null for no limit.
+     */
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+
+    /**
+     * Get the number of seats taken.
+     * @return The number of registered (not waitlisted) users.
+     */
+    public int getRegisteredCount() { return registeredCount; }
+    public void setRegisteredCount(int registeredCount) { this.registeredCount = registeredCount; }
+
     /**
      * Get the registrations for this event.
      * @return The set of registrations.
@@ -0,0 +1,37 @@
+package com.neu.nuboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.neu.nuboard.model.EventRegistration.Status;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for one row of the registration export.
+ */
+public class RegistrationExportDTO {
+
+    private final Long id;
+    private final String eventId;
+    private final String userId;
+    private final Status status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime createdAt;
+
+    /**
+     * Constructor used by the JPQL projection in EventRegistrationRepository.
+     */
+    public RegistrationExportDTO(Long id, UUID eventId, UUID userId, Status status, LocalDateTime createdAt) {
+        this.id = id;
+        this.eventId = eventId.toString();
+        this.userId = userId.toString();
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public String getEventId() { return eventId; }
+    public String getUserId() { return userId; }
+    public Status getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,56 @@
+package com.neu.nuboard.dto;
+
+/**
+ * DTO for the state of an asynchronous registration in API responses.
+ * Returned with 202 Accepted when the registration is queued, and by the ticket status endpoint.
+ */
+public class RegistrationTicketDTO {
+    public enum State {
+        // Queued, not written yet
+        PENDING,
+        // Written; the user holds a seat
+        REGISTERED,
+        // Written; the event was full and the user is on its waitlist
+        WAITLISTED,
+        ALREADY_REGISTERED,
+        UNKNOWN_EVENT,
+        UNKNOWN_USER,
+        // Could not be written; the client may register again
+        FAILED
+    }
+
+    private String ticket;
+    private String eventId;
+    private String userId;
+    private State state;
+
+    public RegistrationTicketDTO() {
+    }
+
+    public RegistrationTicketDTO(String ticket, String eventId, String userId, State state) {
+        this.ticket = ticket;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.state = state;
+    }
+
+    /**
+     * Get the ticket ID to poll the registration with.
+     * @return The ticket ID.
+     */
+    public String getTicket() { return ticket; }
+    public void setTicket(String ticket) { this.ticket = ticket; }
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    /**
+     * Get the state of the registration.
+     * @return PENDING until the registration has been written, then its outcome.
+     */
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+}
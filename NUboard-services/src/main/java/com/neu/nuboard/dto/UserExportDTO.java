@@ -0,0 +1,35 @@
+package com.neu.nuboard.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO for one row of the user export.
+ */
+public class UserExportDTO {
+
+    private final String id;
+    private final String username;
+    private final String email;
+    private final String program;
+    private final Long locationId;
+    private final Long collegeId;
+
+    /**
+     * Constructor used by the JPQL projection in UserRepository.
+     */
+    public UserExportDTO(UUID id, String username, String email, String program, Long locationId, Long collegeId) {
+        this.id = id.toString();
+        this.username = username;
+        this.email = email;
+        this.program = program;
+        this.locationId = locationId;
+        this.collegeId = collegeId;
+    }
+
+    public String getId() { return id; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public String getProgram() { return program; }
+    public Long getLocationId() { return locationId; }
+    public Long getCollegeId() { return collegeId; }
+}
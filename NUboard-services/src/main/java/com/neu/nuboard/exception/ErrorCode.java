@@ -9,6 +9,16 @@ public enum ErrorCode {
     VALIDATION_ERROR(1002, "Validation Error", HttpStatus.BAD_REQUEST),
     RESOURCE_NOT_FOUND(1003, "Resource Not Found", HttpStatus.NOT_FOUND),
     DATABASE_ERROR(1004, "Database Operation Failed", HttpStatus.INTERNAL_SERVER_ERROR),
+    INVALID_EXPORT_FORMAT(1005, "Invalid Export Format, expected ndjson or csv", HttpStatus.BAD_REQUEST),
+    QUERY_BUDGET_EXCEEDED(1006, "Request Exceeded Its SQL Statement Budget", HttpStatus.INTERNAL_SERVER_ERROR),
+    STREAM_SUBSCRIBERS_EXCEEDED(1007, "Too Many Stream Subscribers, try again later", HttpStatus.SERVICE_UNAVAILABLE),
+    IDEMPOTENCY_KEY_INVALID(1008, "Idempotency-Key must be 1 to 255 characters", HttpStatus.BAD_REQUEST),
+    IDEMPOTENCY_KEY_REUSED(1009, "Idempotency-Key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(1010, "A request with this Idempotency-Key is still in progress, try again later", HttpStatus.CONFLICT),
+    RATE_LIMITED(1011, "Too Many Requests, try again later", HttpStatus.TOO_MANY_REQUESTS),
+    SHARD_UNAVAILABLE(1012, "A campus database is unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE),
+    INVALID_IMPORT_FORMAT(1013, "Invalid Import Format, expected ndjson or csv", HttpStatus.BAD_REQUEST),
+    IDEMPOTENCY_BODY_TOO_LARGE(1014, "Request body is too large to be sent with an Idempotency-Key", HttpStatus.PAYLOAD_TOO_LARGE),
 
     // User Errors (2xxx)
     USER_ALREADY_EXISTS(2001, "Username Already Exists", HttpStatus.CONFLICT),
@@ -39,6 +49,15 @@ public enum ErrorCode {
     EVENT_INVALID_ADDRESS(3005, "Invalid Event Address", HttpStatus.BAD_REQUEST),
     EVENT_INVALID_CREATOR(3006, "Invalid Event Creator", HttpStatus.BAD_REQUEST),
     EVENT_INVALID_ORGANIZER(3007, "Invalid Event Organizer", HttpStatus.BAD_REQUEST),
+    EVENT_INVALID_CURSOR(3008, "Invalid Event Page Cursor", HttpStatus.BAD_REQUEST),
+    EVENT_INVALID_PAGE_SIZE(3009, "Invalid Event Page Size", HttpStatus.BAD_REQUEST),
+    EVENT_INVALID_CAPACITY(3010, "Invalid Event Capacity", HttpStatus.BAD_REQUEST),
+    EVENT_INVALID_SYNC_TOKEN(3011, "Invalid Event Sync Token", HttpStatus.BAD_REQUEST),
+    EVENT_SYNC_TOKEN_EXPIRED(3012, "Event Sync Token Expired, fetch all events again", HttpStatus.GONE),
+    EVENT_SYNC_NOT_SHARDED(3013, "Event Changes Are Not Available With Campus Sharding, use /api/events/stream", HttpStatus.NOT_IMPLEMENTED),
+    EVENT_LOCATION_OTHER_SHARD(3014, "Event Cannot Move To A Campus In Another Database, create it there instead", HttpStatus.CONFLICT),
+    EVENT_IMPORT_INVALID_HEADER(3015, "Invalid Event Import Header, expected the columns of the CSV export", HttpStatus.BAD_REQUEST),
+    EVENT_IMPORT_MALFORMED_ROW(3016, "Malformed Event Import Row", HttpStatus.BAD_REQUEST),
 
 
     // Registration Errors (4xxx)
@@ -51,7 +70,27 @@ public enum ErrorCode {
      * Indicates that the registration record for the specified event and user was not found.
      * HttpStatus 404 Not Found.
      */
-    REGISTRATION_NOT_FOUND(4002, "Registration not found", HttpStatus.NOT_FOUND);
+    REGISTRATION_NOT_FOUND(4002, "Registration not found", HttpStatus.NOT_FOUND),
+    /**
+     * Indicates that a bulk registration request is empty, malformed, or has too many items.
+     * HttpStatus 400 Bad Request.
+     */
+    INVALID_BULK_REGISTRATION(4003, "Invalid bulk registration request", HttpStatus.BAD_REQUEST),
+    /**
+     * Indicates that the asynchronous registration queue is full; the client should retry later.
+     * HttpStatus 429 Too Many Requests.
+     */
+    REGISTRATION_QUEUE_FULL(4004, "Too many pending registrations, try again later", HttpStatus.TOO_MANY_REQUESTS),
+    /**
+     * Indicates that the asynchronous registration queue is not accepting registrations (shutting down).
+     * HttpStatus 503 Service Unavailable.
+     */
+    REGISTRATION_QUEUE_UNAVAILABLE(4005, "Registration queue unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE),
+    /**
+     * Indicates that the registration ticket is unknown or has expired.
+     * HttpStatus 404 Not Found.
+     */
+    REGISTRATION_TICKET_NOT_FOUND(4006, "Registration ticket not found", HttpStatus.NOT_FOUND);
 
     private final int code;
     private final String message;
@@ -1,5 +1,7 @@
 package com.neu.nuboard.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -15,6 +17,12 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Handles {@link BusinessException} thrown during request processing.
      * Converts the exception into a standardized error response with the associated error code, message, and HTTP status.
@@ -25,6 +33,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<Map<String, Object>> handleBusinessException(BusinessException ex) {
         ErrorCode errorCode = ex.getErrorCode();
+        countError(errorCode);
 
         Map<String, Object> body = new HashMap<>();
         body.put("code", errorCode.getCode());
@@ -43,6 +52,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleOtherExceptions(Exception ex) {
+        countError(ErrorCode.UNKNOWN_ERROR);
         Map<String, Object> body = new HashMap<>();
         body.put("code", ErrorCode.UNKNOWN_ERROR.getCode());
         body.put("message", ErrorCode.UNKNOWN_ERROR.getMessage());
@@ -50,4 +60,18 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(ErrorCode.UNKNOWN_ERROR.getHttpStatus()).body(body);
     }
-}
\ No newline at end of file
+
+    /**
+     * Counts an error response, published as nuboard.errors tagged with the ErrorCode name and HTTP status.
+     *
+     * @param errorCode the error code sent to the client
+     */
+    private void countError(ErrorCode errorCode) {
+        Counter.builder("nuboard.errors")
+                .description("Error responses by error code")
+                .tag("code", errorCode.name())
+                .tag("status", String.valueOf(errorCode.getHttpStatus().value()))
+                .register(meterRegistry)
+                .increment();
+    }
+}
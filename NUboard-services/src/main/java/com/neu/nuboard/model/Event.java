@@ -6,17 +6,26 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 @Entity
-@Table(name = "event")
+@Table(name = "event",
+        indexes = {
+                // Backs the keyset pagination order used by GET /api/events?limit=...
+                @Index(name = "idx_event_start_time_id", columnList = "start_time, id"),
+                // Time window queries filtered by location or organizer type (GET /api/events/window, /upcoming)
+                // read a range of one of these instead of scanning every event.
+                @Index(name = "idx_event_location_start_time", columnList = "location, start_time, id"),
+                @Index(name = "idx_event_organizer_type_start_time", columnList = "organizer_type, start_time, id")
+        })
 public class Event {
     public enum OrganizerType {
         SCHOOL, CORPORATE
     }
 
     @Id
-    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "varchar(255)")
-    private String id;
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID id;
 
     @Column(name = "title", nullable = false, length = 255)
     private String title;
@@ -44,6 +53,28 @@ public class Event {
     @Column(name = "organizer_type", nullable = false)
     private OrganizerType organizerType;
 
+    /**
+     * Maximum number of registered (not waitlisted) users, or null for no limit.
+     */
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    /**
+     * Number of seats taken. Only ever changed by the atomic UPDATEs in EventRepository,
+     * never written back from this entity, so a stale copy cannot overwrite it.
+     */
+    @Column(name = "registered_count", insertable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private int registeredCount;
+
+    /**
+     * When the event or its registrations last changed. Set by the database together with the
+     * change_seq and change_xid columns of the change feed (see EventRepository.TRACK_CHANGE and db/migration/V2__upgrade_released_schema.sql).
+     */
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "timestamp(6) not null default now()")
+    private LocalDateTime updatedAt;
+
     /**
      * The set of registrations for this event.
      * Each registration links a user to this event.
@@ -53,7 +84,7 @@ public class Event {
 
     public Event() {
         // Default constructor required by JPA
-        this.id = UUIDutil.getId();
+        this.id = UUIDutil.newId();
     }
 
     /**
@@ -70,6 +101,7 @@ public class Event {
         event.address = dto.getAddress();
         event.creatorId = dto.getCreatorId();
         event.organizerType = dto.getOrganizerType();
+        event.capacity = dto.getCapacity();
         return event;
     }
 
@@ -85,10 +117,11 @@ public class Event {
         this.address = dto.getAddress();
         this.creatorId = dto.getCreatorId();
         this.organizerType = dto.getOrganizerType();
+        this.capacity = dto.getCapacity();
     }
 
     // Getters
-    public String getId() { return id; }
+    public UUID getId() { return id; }
     public String getTitle() { return title; }
     public String getDescription() { return description; }
     public LocalDateTime getStartTime() { return startTime; }
@@ -98,6 +131,9 @@ public class Event {
     public String getAddress() { return address; }
     public String getCreatorId() { return creatorId; }
     public OrganizerType getOrganizerType() { return organizerType; }
+    public Integer getCapacity() { return capacity; }
+    public int getRegisteredCount() { return registeredCount; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
     public Set<EventRegistration> getRegistrations() { return registrations; }
 
     // Setters
@@ -116,6 +152,8 @@ public class Event {
                 ", creatorId='" + creatorId + '\'' +
                 ", registrations=" + registrations +
                 ", organizerType=" + organizerType +
+                ", capacity=" + capacity +
+                ", registeredCount=" + registeredCount +
                 '}';
     }
 }
@@ -2,33 +2,60 @@ package com.neu.nuboard.model;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "event_registration",
         // The same user (user_id) cannot register for the same event (event_id) multiple times
-        uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "user_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "user_id"}),
+        // Finds the head of an event's waitlist without sorting
+        indexes = @Index(name = "idx_event_registration_waitlist", columnList = "event_id, status, created_at"))
 public class EventRegistration {
+    public enum Status {
+        // Holds one of the event's seats
+        REGISTERED,
+        // Waiting for a seat, promoted in created_at order
+        WAITLISTED
+    }
 
+    // A pooled sequence hands out 50 IDs per round trip and, unlike IDENTITY,
+    // lets Hibernate batch the INSERTs (hibernate.jdbc.batch_size).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_registration_seq")
+    @SequenceGenerator(name = "event_registration_seq", sequenceName = "event_registration_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "event_id", nullable = false)
+    @JoinColumn(name = "event_id", nullable = false, foreignKey = @ForeignKey(name = "fk_event_registration_event"))
     private Event event;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_event_registration_user"))
     private User user;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", columnDefinition = "varchar(16) not null default 'REGISTERED'")
+    private Status status;
+
+    @Column(name = "created_at", columnDefinition = "timestamp(6) not null default now()")
+    private LocalDateTime createdAt;
+
+    // Set by the database default for registrations inserted with native SQL
+    @Column(name = "updated_at", columnDefinition = "timestamp(6) not null default now()")
+    private LocalDateTime updatedAt;
+
     // default constructor
     protected EventRegistration() {
     }
 
     // constructor
-    public EventRegistration(Event event, User user) {
+    public EventRegistration(Event event, User user, Status status) {
         this.event = event;
         this.user = user;
+        this.status = status;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
     }
 
     // Getters 和 Setters
@@ -41,12 +68,22 @@ public class EventRegistration {
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
 
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
     @Override
     public String toString() {
         return "EventRegistration{" +
                 "id=" + id +
                 ", event=" + (event != null ? event.getId() : null) +
                 ", user=" + (user != null ? user.getId() : null) +
+                ", status=" + status +
                 '}';
     }
 }
@@ -2,6 +2,7 @@ package com.neu.nuboard.model;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 import com.neu.nuboard.exception.BusinessException;
 import com.neu.nuboard.exception.ErrorCode;
@@ -24,8 +25,8 @@ public class User {
     private String username;
 
     @Id
-    @Column(name = "id", updatable = false, nullable = false)
-    private String id;
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID id;
 
     @ManyToOne
     @JoinColumn(name = "location_id", nullable = false)
@@ -48,7 +49,7 @@ public class User {
      * JPA要求的默认无参构造函数。
      */
     protected User() {
-        this.id = UUIDutil.getId();
+        this.id = UUIDutil.newId();
     }
 
     /**
@@ -59,14 +60,14 @@ public class User {
      * @param email 用户邮箱。
      */
     public User(String username, String program, String email) {
-        this.id = UUIDutil.getId();
+        this.id = UUIDutil.newId();
         this.setUsername(username);
         this.setProgram(program);
         this.setEmail(email);
     }
     
     // Getters
-    public String getId() { return id; }
+    public UUID getId() { return id; }
 
     public String getUsername() { return username; }
     public void setUsername(String username) {
@@ -0,0 +1,42 @@
+package com.neu.nuboard.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Queues one {@link AccessLogRecord} per API request on the {@link AsyncLogWriter}.
+ * The statement count comes from the {@link QueryStats} that {@link QueryBudgetInterceptor} leaves on the request.
+ * For streamed exports the latency ends when the handler returns, not when the last row is written.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AsyncLogWriter writer;
+
+    public AccessLogFilter(AsyncLogWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long latencyMicros = (System.nanoTime() - start) / 1000;
+            QueryStats stats = (QueryStats) request.getAttribute(QueryStats.REQUEST_ATTRIBUTE);
+            writer.offer(new AccessLogRecord(
+                    request.getMethod(),
+                    QueryBudgetInterceptor.uriPattern(request),
+                    response.getStatus(),
+                    latencyMicros,
+                    stats != null ? stats.getStatements() : 0,
+                    stats != null ? stats.getElapsedMillis() : 0));
+        }
+    }
+}
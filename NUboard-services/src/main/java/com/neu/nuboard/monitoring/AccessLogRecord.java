@@ -0,0 +1,43 @@
+package com.neu.nuboard.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One API request: endpoint, status, latency and the SQL statements it executed. Written to the nuboard.access logger.
+ */
+public final class AccessLogRecord implements LogRecord {
+
+    private static final Logger log = LoggerFactory.getLogger("nuboard.access");
+
+    private final String method;
+    private final String uri;
+    private final int status;
+    private final long latencyMicros;
+    private final int statements;
+    private final long dbMillis;
+
+    public AccessLogRecord(String method, String uri, int status, long latencyMicros, int statements, long dbMillis) {
+        this.method = method;
+        this.uri = uri;
+        this.status = status;
+        this.latencyMicros = latencyMicros;
+        this.statements = statements;
+        this.dbMillis = dbMillis;
+    }
+
+    @Override
+    public Logger logger() {
+        return log;
+    }
+
+    @Override
+    public String format() {
+        return "method=" + method
+                + " uri=" + LogRecord.quote(uri)
+                + " status=" + status
+                + " latency_ms=" + (latencyMicros / 1000) + "." + String.format("%03d", latencyMicros % 1000)
+                + " statements=" + statements
+                + " db_ms=" + dbMillis;
+    }
+}
@@ -0,0 +1,125 @@
+package com.neu.nuboard.monitoring;
+
+import com.neu.nuboard.utils.MpscRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes {@link LogRecord}s on a background thread.
+ * Request threads only put the record into a lock-free ring buffer; formatting and the appender I/O
+ * happen on the writer thread, which drains the buffer in batches. When the buffer is full the record is
+ * dropped rather than making the request wait.
+ */
+public class AsyncLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncLogWriter.class);
+
+    // How long the writer thread sleeps when the buffer is empty
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final MpscRingBuffer<LogRecord> buffer;
+    private final int batchSize;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AsyncLogWriter(int bufferSize, int batchSize) {
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Queues a record without blocking.
+     * @param record The record to write.
+     * @return True if the record was queued, false if it was dropped because the buffer is full.
+     */
+    public boolean offer(LogRecord record) {
+        if (buffer.offer(record)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * @return The number of records dropped since startup.
+     */
+    public long getDropped() { return dropped.get(); }
+
+    /**
+     * @return The approximate number of records waiting to be written.
+     */
+    public int getPending() { return buffer.size(); }
+
+    public int getCapacity() { return buffer.capacity(); }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "nuboard-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Log writer did not stop in time, {} records may be lost", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, so requests still being completed during shutdown are logged
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    private void run() {
+        while (running) {
+            if (buffer.drain(this::write, batchSize) == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        // Flush what was queued before stop()
+        int drained;
+        do {
+            drained = buffer.drain(this::write, batchSize);
+        } while (drained > 0);
+    }
+
+    private void write(LogRecord record) {
+        try {
+            Logger logger = record.logger();
+            if (logger.isInfoEnabled()) {
+                logger.info(record.format());
+            }
+        } catch (RuntimeException e) {
+            // One bad record must not stop the writer thread
+            log.warn("Could not write log record", e);
+        }
+    }
+}
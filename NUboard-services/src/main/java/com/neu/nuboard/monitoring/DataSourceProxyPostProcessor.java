@@ -0,0 +1,35 @@
+package com.neu.nuboard.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource in a datasource-proxy that reports executed statements to {@link QueryCountListener},
+ * and to the {@link SlowQueryListener} when slow query logging is enabled.
+ * The proxy unwraps to the pool underneath, so the HikariCP metrics keep working.
+ */
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    // Resolved when the DataSource is created, not when this post-processor is
+    private final ObjectProvider<SlowQueryListener> slowQueryListener;
+
+    public DataSourceProxyPostProcessor(ObjectProvider<SlowQueryListener> slowQueryListener) {
+        this.slowQueryListener = slowQueryListener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new QueryCountListener());
+            slowQueryListener.ifAvailable(builder::listener);
+            return builder.build();
+        }
+        return bean;
+    }
+}
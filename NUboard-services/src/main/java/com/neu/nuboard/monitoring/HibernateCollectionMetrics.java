@@ -0,0 +1,44 @@
+package com.neu.nuboard.monitoring;
+
+import com.neu.nuboard.model.Event;
+import com.neu.nuboard.model.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+
+/**
+ * Per-collection Hibernate statistics for the registration collections.
+ * The built-in hibernate.* metrics only report collection totals; a rising fetch count for one of these
+ * roles means some code path is initializing the lazy collection once per entity (an N+1).
+ */
+public class HibernateCollectionMetrics implements MeterBinder {
+
+    private static final List<Class<?>> OWNERS = List.of(Event.class, User.class);
+
+    private final Statistics statistics;
+
+    public HibernateCollectionMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Class<?> owner : OWNERS) {
+            String role = owner.getName() + ".registrations";
+            String tag = owner.getSimpleName() + ".registrations";
+            FunctionCounter.builder("nuboard.hibernate.collection.fetches", statistics,
+                            stats -> stats.getCollectionStatistics(role).getFetchCount())
+                    .description("Lazy initializations of the collection, one statement each")
+                    .tag("role", tag)
+                    .register(registry);
+            FunctionCounter.builder("nuboard.hibernate.collection.loads", statistics,
+                            stats -> stats.getCollectionStatistics(role).getLoadCount())
+                    .description("Collections loaded, whether lazily, by a join fetch or in a batch")
+                    .tag("role", tag)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.neu.nuboard.monitoring;
+
+import org.slf4j.Logger;
+
+/**
+ * A log line captured on a request thread and written later by {@link AsyncLogWriter}.
+ * Implementations only hold the raw values; the message is built by {@link #format()} on the writer thread.
+ */
+public interface LogRecord {
+
+    /**
+     * @return The logger the line is written to.
+     */
+    Logger logger();
+
+    /**
+     * @return The message in logfmt (key=value pairs separated by spaces).
+     */
+    String format();
+
+    /**
+     * Quotes a logfmt value if it contains spaces, quotes or line breaks.
+     * @param value The value.
+     * @return The value, quoted and escaped when needed.
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "\"\"";
+        }
+        boolean plain = !value.isEmpty();
+        for (int i = 0; i < value.length() && plain; i++) {
+            char c = value.charAt(i);
+            plain = c > ' ' && c != '"' && c != '=';
+        }
+        if (plain) {
+            return value;
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c == '\n' || c == '\r' || c == '\t') {
+                quoted.append(' ');
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.neu.nuboard.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Production request and SQL logging: access log lines and sampled slow queries, written asynchronously
+ * by {@link AsyncLogWriter}. The verbose per-statement Hibernate logging lives in application-dev.yml.
+ */
+@Configuration
+@EnableConfigurationProperties(LoggingProperties.class)
+public class LoggingConfig {
+
+    @Bean
+    public AsyncLogWriter asyncLogWriter(LoggingProperties properties) {
+        return new AsyncLogWriter(properties.getBufferSize(), properties.getBatchSize());
+    }
+
+    /**
+     * Picked up by {@link DataSourceProxyPostProcessor} when the DataSource is wrapped.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "nuboard.logging.slow-query", name = "enabled", matchIfMissing = true)
+    public SlowQueryListener slowQueryListener(AsyncLogWriter asyncLogWriter, LoggingProperties properties) {
+        LoggingProperties.SlowQuery slowQuery = properties.getSlowQuery();
+        return new SlowQueryListener(asyncLogWriter, slowQuery.getThresholdMs(), slowQuery.getSampleRate());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "nuboard.logging.access-log", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AsyncLogWriter asyncLogWriter) {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(new AccessLogFilter(asyncLogWriter));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    /**
+     * Kept out of {@link AsyncLogWriter}: the writer is created while the DataSource is being wrapped,
+     * and should not pull the MeterRegistry into DataSource creation.
+     */
+    @Bean
+    public MeterBinder asyncLogWriterMetrics(AsyncLogWriter asyncLogWriter) {
+        return registry -> {
+            FunctionCounter.builder("nuboard.log.dropped", asyncLogWriter, AsyncLogWriter::getDropped)
+                    .description("Log records dropped because the log buffer was full")
+                    .register(registry);
+            Gauge.builder("nuboard.log.pending", asyncLogWriter, AsyncLogWriter::getPending)
+                    .description("Log records waiting for the writer thread")
+                    .register(registry);
+            Gauge.builder("nuboard.log.capacity", asyncLogWriter, AsyncLogWriter::getCapacity)
+                    .description("Size of the log buffer")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.neu.nuboard.monitoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Asynchronous access and slow query logging, bound from nuboard.logging.
+ */
+@ConfigurationProperties(prefix = "nuboard.logging")
+public class LoggingProperties {
+
+    /**
+     * Records held between request threads and the writer thread, rounded up to a power of two.
+     * Records offered while the buffer is full are dropped and counted in nuboard.log.dropped.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Records written per drain of the buffer.
+     */
+    private int batchSize = 256;
+
+    private final AccessLog accessLog = new AccessLog();
+
+    private final SlowQuery slowQuery = new SlowQuery();
+
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public AccessLog getAccessLog() { return accessLog; }
+
+    public SlowQuery getSlowQuery() { return slowQuery; }
+
+    public static class AccessLog {
+
+        /**
+         * Log one line per /api request to the nuboard.access logger.
+         */
+        private boolean enabled = true;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    }
+
+    public static class SlowQuery {
+
+        /**
+         * Log statements to the nuboard.slow-query logger.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Statements faster than this are never logged.
+         */
+        private long thresholdMs = 200;
+
+        /**
+         * Fraction of slow statements that are logged, between 0 and 1.
+         */
+        private double sampleRate = 1.0;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public long getThresholdMs() { return thresholdMs; }
+        public void setThresholdMs(long thresholdMs) { this.thresholdMs = thresholdMs; }
+
+        public double getSampleRate() { return sampleRate; }
+        public void setSampleRate(double sampleRate) { this.sampleRate = sampleRate; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.neu.nuboard.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Application metrics on top of what Spring Boot Actuator already publishes
+ * (http.server.requests, hikaricp.*, hibernate.*, jvm.*), all scraped from /actuator/prometheus.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties queryBudgetProperties;
+
+    public MetricsConfig(MeterRegistry meterRegistry, QueryBudgetProperties queryBudgetProperties) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudgetProperties = queryBudgetProperties;
+    }
+
+    /**
+     * Counts statements at the JDBC level. Static, so the post-processor is registered
+     * before the DataSource is created without initializing this configuration early.
+     */
+    @Bean
+    public static DataSourceProxyPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SlowQueryListener> slowQueryListener) {
+        return new DataSourceProxyPostProcessor(slowQueryListener);
+    }
+
+    @Bean
+    public HibernateCollectionMetrics hibernateCollectionMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateCollectionMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor(meterRegistry, queryBudgetProperties)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,84 @@
+package com.neu.nuboard.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects {@link QueryStats} for each API request and checks them against the endpoint's budget.
+ * Published as nuboard.http.db.statements and nuboard.http.db.time with the same method and uri tags
+ * as http.server.requests, so an endpoint whose statement count grows with its data (an N+1) stands out.
+ * Requests over budget are logged and counted in nuboard.http.db.budget.exceeded.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetInterceptor(MeterRegistry meterRegistry, QueryBudgetProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryStats.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryStats stats = QueryStats.stop();
+        if (stats == null) {
+            return;
+        }
+        // Read by AccessLogFilter, which runs after this interceptor
+        request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+        String method = request.getMethod();
+        String uri = uriPattern(request);
+
+        DistributionSummary.builder("nuboard.http.db.statements")
+                .description("SQL statements executed per HTTP request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("nuboard.http.db.time")
+                .description("Time spent executing SQL statements per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(stats.getElapsedMillis(), TimeUnit.MILLISECONDS);
+
+        int budget = properties.budgetFor(method, uri);
+        if (stats.getStatements() > budget) {
+            Counter.builder("nuboard.http.db.budget.exceeded")
+                    .description("Requests that executed more SQL statements than their endpoint's budget")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} executed {} SQL statements ({} ms), budget is {}",
+                    method, uri, stats.getStatements(), stats.getElapsedMillis(), budget);
+        }
+    }
+
+    static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
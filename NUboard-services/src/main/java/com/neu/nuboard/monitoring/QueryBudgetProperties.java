@@ -0,0 +1,47 @@
+package com.neu.nuboard.monitoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-endpoint SQL statement budgets, bound from nuboard.query-budget.
+ */
+@ConfigurationProperties(prefix = "nuboard.query-budget")
+public class QueryBudgetProperties {
+
+    /**
+     * Budget for endpoints without their own entry.
+     */
+    private int defaultBudget = 20;
+
+    /**
+     * Fail requests over budget with QUERY_BUDGET_EXCEEDED instead of only logging them (for CI and tests).
+     */
+    private boolean failOnExceed = false;
+
+    /**
+     * Budgets keyed by "METHOD /uri/pattern", e.g. "GET /api/events" or "PUT /api/events/{id}".
+     */
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    /**
+     * Get the budget of an endpoint.
+     * @param method The HTTP method.
+     * @param uriPattern The matched URI pattern.
+     * @return The endpoint's own budget, or the default budget.
+     */
+    public int budgetFor(String method, String uriPattern) {
+        return endpoints.getOrDefault(method + " " + uriPattern, defaultBudget);
+    }
+
+    public int getDefaultBudget() { return defaultBudget; }
+    public void setDefaultBudget(int defaultBudget) { this.defaultBudget = defaultBudget; }
+
+    public boolean isFailOnExceed() { return failOnExceed; }
+    public void setFailOnExceed(boolean failOnExceed) { this.failOnExceed = failOnExceed; }
+
+    public Map<String, Integer> getEndpoints() { return endpoints; }
+    public void setEndpoints(Map<String, Integer> endpoints) { this.endpoints = endpoints; }
+}
@@ -0,0 +1,115 @@
+package com.neu.nuboard.monitoring;
+
+import java.util.concurrent.Callable;
+
+/**
+ * SQL statements and database time of the request running on the current thread.
+ * Filled in by {@link QueryCountListener} for every statement that goes through the DataSource,
+ * whether it comes from Hibernate, a native query or plain JDBC.
+ * Work the request hands to other threads is counted too when it is wrapped with {@link #propagate(Callable)}.
+ */
+public final class QueryStats {
+
+    /**
+     * Request attribute holding the final stats of a request once its handler has completed.
+     */
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long elapsedMillis;
+    private boolean budgetEnforced;
+
+    private QueryStats() {
+    }
+
+    /**
+     * Starts collecting on the current thread, discarding anything collected before.
+     * @return The new, empty stats.
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return The stats being collected on the current thread, or null if collection was not started.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stops collecting on the current thread.
+     * @return The collected stats, or null if collection was not started.
+     */
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Wraps work that the current thread hands to another thread, e.g. the per-shard queries of a scatter/gather,
+     * so that the statements it executes there count for the request running on the current thread.
+     * @param work The work.
+     * @return Work that collects its statements on the thread it runs on and adds them to the current thread's stats
+     * when it ends; the work itself if collection was not started on the current thread.
+     */
+    public static <T> Callable<T> propagate(Callable<T> work) {
+        QueryStats parent = current();
+        if (parent == null) {
+            return work;
+        }
+        return () -> {
+            QueryStats previous = CURRENT.get();
+            QueryStats child = start();
+            try {
+                return work.call();
+            } finally {
+                parent.add(child);
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    // Synchronized: propagated work on other threads adds to the stats while the request keeps recording
+    synchronized void record(long elapsedMillis) {
+        this.statements++;
+        this.elapsedMillis += elapsedMillis;
+    }
+
+    private synchronized void add(QueryStats other) {
+        this.statements += other.getStatements();
+        this.elapsedMillis += other.getElapsedMillis();
+    }
+
+    /**
+     * @return The number of statements executed; a JDBC batch counts as one round trip.
+     */
+    public synchronized int getStatements() { return statements; }
+
+    /**
+     * @return The total time spent executing statements, in milliseconds.
+     */
+    public synchronized long getElapsedMillis() { return elapsedMillis; }
+
+    /**
+     * Marks the budget as enforced, so a request that already failed on it is not failed again
+     * while its error response is written.
+     * @return True the first time it is called.
+     */
+    synchronized boolean markBudgetEnforced() {
+        if (budgetEnforced) {
+            return false;
+        }
+        budgetEnforced = true;
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package com.neu.nuboard.monitoring;
+
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Reports the request's {@link QueryStats} in response headers, just before the body is written
+ * (after that the headers are already sent).
+ * With nuboard.query-budget.fail-on-exceed, a request over its endpoint's budget fails with QUERY_BUDGET_EXCEEDED.
+ */
+@ControllerAdvice
+public class QueryStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    /** Number of SQL statements the request executed. */
+    public static final String STATEMENT_COUNT_HEADER = "X-DB-Statement-Count";
+    /** Total time the request spent executing SQL statements, in milliseconds. */
+    public static final String TIME_HEADER = "X-DB-Time-Ms";
+
+    private final QueryBudgetProperties properties;
+
+    public QueryStatsResponseAdvice(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) {
+            return body;
+        }
+        response.getHeaders().set(STATEMENT_COUNT_HEADER, String.valueOf(stats.getStatements()));
+        response.getHeaders().set(TIME_HEADER, String.valueOf(stats.getElapsedMillis()));
+
+        if (properties.isFailOnExceed() && request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            int budget = properties.budgetFor(httpRequest.getMethod(), QueryBudgetInterceptor.uriPattern(httpRequest));
+            if (stats.getStatements() > budget && stats.markBudgetEnforced()) {
+                throw new BusinessException(ErrorCode.QUERY_BUDGET_EXCEEDED,
+                        stats.getStatements() + " SQL statements executed, budget is " + budget);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,43 @@
+package com.neu.nuboard.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * datasource-proxy listener that logs statements slower than the threshold through the {@link AsyncLogWriter}.
+ * Replaces logging every statement with its bind parameters (org.hibernate.SQL / org.hibernate.type.descriptor.sql),
+ * which is only enabled in the dev profile. With a sample rate below 1 only that fraction of slow statements is logged.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private final AsyncLogWriter writer;
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    public SlowQueryListener(AsyncLogWriter writer, long thresholdMillis, double sampleRate) {
+        this.writer = writer;
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis || queryInfoList.isEmpty()) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        int batchSize = execInfo.isBatch() ? execInfo.getBatchSize() : 1;
+        writer.offer(new SlowQueryRecord(elapsed, batchSize, queryInfoList.get(0).getQuery()));
+    }
+}
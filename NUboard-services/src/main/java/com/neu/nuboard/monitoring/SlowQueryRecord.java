@@ -0,0 +1,42 @@
+package com.neu.nuboard.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One statement that ran longer than the slow query threshold. Written to the nuboard.slow-query logger.
+ * Only the SQL text is kept, never the bind parameters, so no user data ends up in the log.
+ */
+public final class SlowQueryRecord implements LogRecord {
+
+    private static final Logger log = LoggerFactory.getLogger("nuboard.slow-query");
+
+    static final int MAX_SQL_LENGTH = 2000;
+
+    private final long elapsedMillis;
+    private final int batchSize;
+    private final String sql;
+
+    /**
+     * @param elapsedMillis The execution time of the statement.
+     * @param batchSize The number of parameter sets, 1 unless the statement was a JDBC batch.
+     * @param sql The SQL text, truncated here so a huge IN list does not stay in the buffer.
+     */
+    public SlowQueryRecord(long elapsedMillis, int batchSize, String sql) {
+        this.elapsedMillis = elapsedMillis;
+        this.batchSize = batchSize;
+        this.sql = sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+    }
+
+    @Override
+    public Logger logger() {
+        return log;
+    }
+
+    @Override
+    public String format() {
+        return "elapsed_ms=" + elapsedMillis
+                + " batch=" + batchSize
+                + " sql=" + LogRecord.quote(sql.replaceAll("\\s+", " ").trim());
+    }
+}
@@ -1,10 +1,23 @@
 package com.neu.nuboard.repository;
 
+import com.neu.nuboard.dto.EventRegistrationDTO;
+import com.neu.nuboard.dto.RegistrationExportDTO;
 import com.neu.nuboard.model.EventRegistration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for EventRegistration entity.
@@ -16,13 +29,63 @@ import java.util.Optional;
  */
 public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long> {
 
+    /**
+     * Result of {@link #insertRegistration(UUID, UUID)}.
+     */
+    interface RegistrationOutcome {
+        Boolean getEventFound();
+        Boolean getUserFound();
+        /** The new registration's ID, or null if the user was already registered. */
+        Long getRegistrationId();
+        /** REGISTERED or WAITLISTED, or null if the user was already registered. */
+        String getStatus();
+    }
+
+    /**
+     * Registers a user for an event in a single statement.
+     * Checks that the event and user exist, takes a seat if one is left, and inserts the registration
+     * as REGISTERED or WAITLISTED; a duplicate is skipped by ON CONFLICT instead of raising an error.
+     * The event row is written in both cases, so the new registration shows up in the change feed.
+     * The statement's snapshot is taken before it waits for the event row lock, so the duplicate check locks the
+     * registration it finds: one deleted meanwhile (the same user unregistering) is then skipped instead of costing
+     * the user a free seat.
+     * If a concurrent duplicate slipped past the NOT EXISTS check, a seat may have been taken without
+     * an insert, so the caller must roll back when registrationId is null.
+     *
+     * @param eventId The ID of the event.
+     * @param userId The ID of the user.
+     * @return What happened, see {@link RegistrationOutcome}.
+     */
+    @Transactional
+    @Query(value = "WITH u AS (SELECT id FROM users WHERE id = :userId), " +
+                   "e AS (SELECT id FROM event WHERE id = :eventId), " +
+                   "cur AS (SELECT id, (capacity IS NULL OR registered_count < capacity) AS has_seat " +
+                   "        FROM event WHERE id = :eventId FOR UPDATE), " +
+                   "seat AS (UPDATE event ev SET registered_count = ev.registered_count + CASE WHEN cur.has_seat THEN 1 ELSE 0 END, " +
+                   "         " + EventRepository.TRACK_CHANGE + " " +
+                   "         FROM cur WHERE ev.id = cur.id " +
+                   "         AND EXISTS (SELECT 1 FROM u) " +
+                   "         AND NOT EXISTS (SELECT 1 FROM event_registration WHERE event_id = :eventId AND user_id = :userId FOR KEY SHARE) " +
+                   "         RETURNING cur.has_seat), " +
+                   "ins AS (INSERT INTO event_registration (id, event_id, user_id, status, created_at) " +
+                   "        SELECT nextval('event_registration_seq'), e.id, u.id, CASE WHEN (SELECT has_seat FROM seat) THEN 'REGISTERED' ELSE 'WAITLISTED' END, now() " +
+                   "        FROM e, u " +
+                   "        ON CONFLICT (event_id, user_id) DO NOTHING " +
+                   "        RETURNING id, status) " +
+                   "SELECT EXISTS (SELECT 1 FROM e) AS \"eventFound\", " +
+                   "EXISTS (SELECT 1 FROM u) AS \"userFound\", " +
+                   "(SELECT id FROM ins) AS \"registrationId\", " +
+                   "(SELECT status FROM ins) AS \"status\"",
+           nativeQuery = true)
+    RegistrationOutcome insertRegistration(@Param("eventId") UUID eventId, @Param("userId") UUID userId);
+
     /**
      * Find all registrations for a specific event.
      *
      * @param eventId The ID of the event.
      * @return A list of registrations for the specified event.
      */
-    List<EventRegistration> findByEventId(String eventId);
+    List<EventRegistration> findByEventId(UUID eventId);
 
     /**
      * Find all registrations for a specific user.
@@ -30,7 +93,7 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
      * @param userId The ID of the user.
      * @return A list of registrations for the specified user.
      */
-    List<EventRegistration> findByUserId(String userId);
+    List<EventRegistration> findByUserId(UUID userId);
 
     /**
      * Check if a registration exists for a specific event and user.
@@ -39,7 +102,7 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
      * @param userId The ID of the user.
      * @return True if the registration exists, false otherwise.
      */
-    boolean existsByEventIdAndUserId(String eventId, String userId);
+    boolean existsByEventIdAndUserId(UUID eventId, UUID userId);
 
     /**
      * Find a registration by event ID and user ID.
@@ -48,5 +111,170 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
      * @param userId The ID of the user.
      * @return An Optional containing the registration if found, or empty if not found.
      */
-    Optional<EventRegistration> findByEventIdAndUserId(String eventId, String userId);
+    Optional<EventRegistration> findByEventIdAndUserId(UUID eventId, UUID userId);
+
+    /**
+     * Find the registrations of several events at once, projected straight into DTOs.
+     * Reads only the registration table, so neither the events nor the users are loaded.
+     *
+     * @param eventIds The IDs of the events.
+     * @return The registrations of all the given events.
+     */
+    @Query("SELECT new com.neu.nuboard.dto.EventRegistrationDTO(r.id, CAST(r.event.id AS String), CAST(r.user.id AS String), r.status) " +
+           "FROM EventRegistration r WHERE r.event.id IN :eventIds")
+    List<EventRegistrationDTO> findDTOsByEventIdIn(@Param("eventIds") Collection<UUID> eventIds);
+
+    /**
+     * Find the longest-waiting waitlisted registration of an event and lock it.
+     * The caller holds the event row lock, so no other transaction changes the waitlist meanwhile;
+     * nothing is skipped, so users are promoted strictly in the order they were waitlisted.
+     *
+     * @param eventId The ID of the event.
+     * @return An Optional containing the head of the waitlist, or empty if nobody is waiting.
+     */
+    @Query(value = "SELECT * FROM event_registration " +
+                   "WHERE event_id = :eventId AND status = 'WAITLISTED' " +
+                   "ORDER BY created_at, id LIMIT 1 FOR UPDATE",
+           nativeQuery = true)
+    Optional<EventRegistration> findNextWaitlisted(@Param("eventId") UUID eventId);
+
+    /**
+     * Hands a freed seat to the longest-waiting waitlisted user, or gives it back to the event if nobody is waiting,
+     * deciding both in one statement.
+     * The caller must already hold the event row lock ({@link EventRepository#lockEvent(UUID)}), taken by an earlier
+     * statement: this statement's snapshot is taken after the lock was granted, so it sees every waitlisted
+     * registration committed before, and none can be in flight, since registering needs the same lock.
+     * The event row is written in both cases, so the change shows up in the change feed.
+     *
+     * @param eventId The ID of the event.
+     * @return The ID of the promoted registration, or null if the seat went back to the event.
+     */
+    @Transactional
+    @Query(value = "WITH next AS (SELECT id FROM event_registration " +
+                   "              WHERE event_id = :eventId AND status = 'WAITLISTED' " +
+                   "              ORDER BY created_at, id LIMIT 1 FOR UPDATE), " +
+                   "promoted AS (UPDATE event_registration r SET status = 'REGISTERED', updated_at = now() " +
+                   "             FROM next WHERE r.id = next.id RETURNING r.id), " +
+                   "seat AS (UPDATE event SET registered_count = CASE WHEN EXISTS (SELECT 1 FROM next) THEN registered_count " +
+                   "                                             ELSE GREATEST(registered_count - 1, 0) END, " +
+                   "         " + EventRepository.TRACK_CHANGE + " " +
+                   "         WHERE id = :eventId) " +
+                   "SELECT id FROM promoted",
+           nativeQuery = true)
+    Long handOverSeat(@Param("eventId") UUID eventId);
+
+    /**
+     * Find which of the given users are already registered for an event.
+     *
+     * @param eventId The ID of the event.
+     * @param userIds The IDs of the users to check.
+     * @return The IDs of the users that have a registration for the event.
+     */
+    @Query("SELECT r.user.id FROM EventRegistration r WHERE r.event.id = :eventId AND r.user.id IN :userIds")
+    List<UUID> findRegisteredUserIds(@Param("eventId") UUID eventId, @Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Find which of the given events a user is already registered for.
+     *
+     * @param userId The ID of the user.
+     * @param eventIds The IDs of the events to check.
+     * @return The IDs of the events the user has a registration for.
+     */
+    @Query("SELECT r.event.id FROM EventRegistration r WHERE r.user.id = :userId AND r.event.id IN :eventIds")
+    List<UUID> findRegisteredEventIds(@Param("userId") UUID userId, @Param("eventIds") Collection<UUID> eventIds);
+
+    /**
+     * Find the events a user has registrations for.
+     *
+     * @param userId The ID of the user.
+     * @return The IDs of the events.
+     */
+    @Query("SELECT r.event.id FROM EventRegistration r WHERE r.user.id = :userId")
+    List<UUID> findEventIdsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Moves the registrations of events from event_registration to event_registration_archive,
+     * into the partition of their event's start time. Runs before EventRepository.archiveEvents moves the events.
+     *
+     * @param eventIds The IDs of the events.
+     * @return The number of registrations moved.
+     */
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM event_registration r USING event e " +
+                   "               WHERE r.event_id = e.id AND e.id IN (:eventIds) " +
+                   "               RETURNING r.id, r.event_id, e.start_time, r.user_id, r.status, r.created_at, r.updated_at) " +
+                   "INSERT INTO event_registration_archive (id, event_id, event_start_time, user_id, status, created_at, updated_at) " +
+                   "SELECT id, event_id, start_time, user_id, status, created_at, updated_at FROM moved",
+           nativeQuery = true)
+    int archiveByEventIdIn(@Param("eventIds") Collection<UUID> eventIds);
+
+    /**
+     * A registration in the archive.
+     */
+    interface ArchivedRegistration {
+        Long getId();
+        UUID getEventId();
+        UUID getUserId();
+        EventRegistration.Status getStatus();
+    }
+
+    /**
+     * Find the archived registrations of several events.
+     * The start time bounds restrict the query to the partitions of the events' months.
+     *
+     * @param eventIds The IDs of the events.
+     * @param from The earliest start time of the events.
+     * @param to The latest start time of the events.
+     * @return The archived registrations of the given events.
+     */
+    @Query(value = "SELECT id AS \"id\", event_id AS \"eventId\", user_id AS \"userId\", status AS \"status\" " +
+                   "FROM event_registration_archive " +
+                   "WHERE event_start_time >= :from AND event_start_time <= :to AND event_id IN (:eventIds)",
+           nativeQuery = true)
+    List<ArchivedRegistration> findArchivedByEventIdIn(@Param("eventIds") Collection<UUID> eventIds,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to);
+
+    /**
+     * Delete a user's archived registrations, which have no foreign key to cascade from the user.
+     *
+     * @param userId The ID of the user.
+     * @return The number of registrations deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM event_registration_archive WHERE user_id = :userId", nativeQuery = true)
+    int deleteArchivedByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Streams every registration for export, ordered by ID.
+     * The fetch size makes the PostgreSQL driver read through a server-side cursor in chunks
+     * instead of buffering the whole result, and the DTO projection keeps rows out of the
+     * persistence context, so memory use does not grow with the table.
+     * Must be consumed inside a transaction, and the stream must be closed.
+     *
+     * @return The registrations, one DTO per row.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.neu.nuboard.dto.RegistrationExportDTO(r.id, r.event.id, r.user.id, r.status, r.createdAt) " +
+           "FROM EventRegistration r ORDER BY r.id")
+    Stream<RegistrationExportDTO> streamForExport();
+
+    /**
+     * Streams the registrations of one event for export, ordered by ID.
+     * Same cursor-based reading as {@link #streamForExport()}.
+     *
+     * @param eventId The ID of the event.
+     * @return The event's registrations, one DTO per row.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.neu.nuboard.dto.RegistrationExportDTO(r.id, r.event.id, r.user.id, r.status, r.createdAt) " +
+           "FROM EventRegistration r WHERE r.event.id = :eventId ORDER BY r.id")
+    Stream<RegistrationExportDTO> streamForExportByEventId(@Param("eventId") UUID eventId);
 }
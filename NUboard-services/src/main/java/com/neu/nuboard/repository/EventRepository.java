@@ -1,12 +1,23 @@
 package com.neu.nuboard.repository;
 
+import com.neu.nuboard.dto.EventExportDTO;
 import com.neu.nuboard.model.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Convention over Configuration design pattern
@@ -17,21 +28,317 @@ import java.util.List;
  * findById() method is used to retrieve an event by its id.
  */
 @Repository
-public interface EventRepository extends JpaRepository<Event, String> {
+public interface EventRepository extends JpaRepository<Event, UUID>, EventRepositoryCustom {
 
     /**
-     * Search events by keyword in title or description.
-     * @param keyword The search keyword.
-     * @return List of events matching the search criteria.
+     * SET clause that records a change of an event row for the change feed (see db/migration/V2__upgrade_released_schema.sql):
+     * a new change sequence number, the writing transaction's ID, and the time.
+     * Part of every statement that writes to the event table.
      */
-    @Query("SELECT e FROM Event e WHERE LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Event> searchEvents(@Param("keyword") String keyword);
+    String TRACK_CHANGE = "change_seq = nextval('nuboard_change_seq'), " +
+                          "change_xid = CAST(CAST(pg_current_xact_id() AS text) AS bigint), " +
+                          "updated_at = now()";
 
     /**
-     * Find events by organizer type.
-     * @param organizerType The type of organizer.
-     * @return List of events with the specified organizer type.
+     * An event or tombstone row in the change feed.
      */
-    @Query("SELECT e FROM Event e WHERE e.organizerType = :organizerType")
-    List<Event> findByOrganizerType(@Param("organizerType") Event.OrganizerType organizerType);
+    interface ChangeRow {
+        UUID getId();
+        Long getChangeSeq();
+    }
+
+    /**
+     * Full-text search over title and description, ordered by relevance.
+     * Uses the GIN index on event.search_vector (see db/migration/V2__upgrade_released_schema.sql).
+     * @param tsQuery The query in PostgreSQL to_tsquery syntax, e.g. "career:* & fair:*".
+     * @param limit The maximum number of events to return.
+     * @param offset The number of ranked events to skip.
+     * @return List of events matching the query, best match first.
+     */
+    @Query(value = "SELECT e.* FROM event e, to_tsquery('english', :tsQuery) q " +
+                   "WHERE e.search_vector @@ q " +
+                   "ORDER BY ts_rank(e.search_vector, q) DESC, e.start_time, e.id " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Event> searchEvents(@Param("tsQuery") String tsQuery,
+                             @Param("limit") int limit,
+                             @Param("offset") int offset);
+
+    /**
+     * An event matching a full-text search, with its relevance.
+     */
+    interface SearchHit {
+        UUID getId();
+        Double getRank();
+    }
+
+    /**
+     * Like {@link #searchEvents}, but returns the relevance of each match instead of the event,
+     * so the matches of several shards can be merged into one ranking.
+     * @param tsQuery The query in PostgreSQL to_tsquery syntax, e.g. "career:* & fair:*".
+     * @param limit The maximum number of matches to return.
+     * @return The IDs and relevance of the best matches, best match first.
+     */
+    @Query(value = "SELECT e.id AS \"id\", CAST(ts_rank(e.search_vector, q) AS double precision) AS \"rank\" " +
+                   "FROM event e, to_tsquery('english', :tsQuery) q " +
+                   "WHERE e.search_vector @@ q " +
+                   "ORDER BY ts_rank(e.search_vector, q) DESC, e.start_time, e.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<SearchHit> searchEventHits(@Param("tsQuery") String tsQuery, @Param("limit") int limit);
+
+    /**
+     * Locks an event row until the surrounding transaction ends.
+     * Everything that changes an event's seats or waitlist locks the event row before any of its registrations
+     * (registering takes the lock in {@link EventRegistrationRepository#insertRegistration}, bulk registration with
+     * its seat UPDATE), so holding it keeps the waitlist stable, and the locks are always taken in the same order.
+     * @param eventId The ID of the event.
+     * @return The ID, or empty if the event does not exist.
+     */
+    @Query(value = "SELECT id FROM event WHERE id = :eventId FOR UPDATE", nativeQuery = true)
+    Optional<UUID> lockEvent(@Param("eventId") UUID eventId);
+
+    /**
+     * Takes one seat if the event has one left.
+     * A single conditional UPDATE, so two registrations can never both take the last seat,
+     * and the row lock is only held until the surrounding transaction commits.
+     * @param eventId The ID of the event.
+     * @return 1 if a seat was taken, 0 if the event is full or does not exist.
+     */
+    @Modifying
+    @Query(value = "UPDATE event SET registered_count = registered_count + 1, " + TRACK_CHANGE + " " +
+                   "WHERE id = :eventId AND (capacity IS NULL OR registered_count < capacity)",
+           nativeQuery = true)
+    int reserveSeat(@Param("eventId") UUID eventId);
+
+    /**
+     * Gives one seat back.
+     * @param eventId The ID of the event.
+     * @return 1 if a seat was released, 0 otherwise.
+     */
+    @Modifying
+    @Query(value = "UPDATE event SET registered_count = registered_count - 1, " + TRACK_CHANGE + " " +
+                   "WHERE id = :eventId AND registered_count > 0",
+           nativeQuery = true)
+    int releaseSeat(@Param("eventId") UUID eventId);
+
+    /**
+     * Takes up to the requested number of seats in one statement.
+     * The row is locked first, so the number granted is computed from the latest committed counter.
+     * @param eventId The ID of the event.
+     * @param requested The number of seats wanted.
+     * @return The number of seats actually taken (0 if the event is full), or null if the event does not exist.
+     */
+    @Transactional
+    @Query(value = "WITH cur AS (SELECT id, CASE WHEN capacity IS NULL THEN :requested " +
+                   "                          ELSE LEAST(:requested, GREATEST(capacity - registered_count, 0)) END AS granted " +
+                   "             FROM event WHERE id = :eventId FOR UPDATE) " +
+                   "UPDATE event e SET registered_count = e.registered_count + cur.granted, " + TRACK_CHANGE + " " +
+                   "FROM cur WHERE e.id = cur.id RETURNING cur.granted",
+           nativeQuery = true)
+    Integer reserveSeats(@Param("eventId") UUID eventId, @Param("requested") int requested);
+
+    /**
+     * Takes one seat in each of the given events that has one left.
+     * @param eventIds The IDs of the events.
+     * @return The IDs of the events a seat was taken in.
+     */
+    @Transactional
+    @Query(value = "UPDATE event SET registered_count = registered_count + 1, " + TRACK_CHANGE + " " +
+                   "WHERE id IN (:eventIds) AND (capacity IS NULL OR registered_count < capacity) " +
+                   "RETURNING id",
+           nativeQuery = true)
+    List<UUID> reserveSeatInEach(@Param("eventIds") Collection<UUID> eventIds);
+
+    /**
+     * Records a change of an event whose row is not otherwise written,
+     * e.g. when its registrations change without a seat being taken or released.
+     * @param eventId The ID of the event.
+     * @return 1 if the event exists, 0 otherwise.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event SET " + TRACK_CHANGE + " WHERE id = :eventId", nativeQuery = true)
+    int trackChange(@Param("eventId") UUID eventId);
+
+    /**
+     * Records a change of each of the given events, see {@link #trackChange(UUID)}.
+     * @param eventIds The IDs of the events.
+     * @return The number of events found.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event SET " + TRACK_CHANGE + " WHERE id IN (:eventIds)", nativeQuery = true)
+    int trackChanges(@Param("eventIds") Collection<UUID> eventIds);
+
+    /**
+     * Records the deletion of an event for the change feed.
+     * The change sequence, transaction ID and time are filled in by the column defaults.
+     * @param eventId The ID of the deleted event.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO event_tombstone (event_id) VALUES (:eventId)", nativeQuery = true)
+    void insertTombstone(@Param("eventId") UUID eventId);
+
+    /**
+     * Get the oldest transaction that is still running.
+     * Every transaction with a lower ID has finished, so its changes are visible to all later statements.
+     * @return The transaction ID, as stored in change_xid.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    Long findChangeHorizon();
+
+    /**
+     * Find events changed by transactions at or above a floor, in change order.
+     * @param floor The lowest transaction ID.
+     * @param after Only changes with a higher change sequence.
+     * @param limit The maximum number of rows.
+     * @return The IDs and change sequence numbers.
+     */
+    @Query(value = "SELECT id AS \"id\", change_seq AS \"changeSeq\" FROM event " +
+                   "WHERE change_xid >= :floor AND change_seq > :after ORDER BY change_seq LIMIT :limit",
+           nativeQuery = true)
+    List<ChangeRow> findChangedSince(@Param("floor") long floor, @Param("after") long after, @Param("limit") int limit);
+
+    /**
+     * Find events deleted by transactions at or above a floor, in change order.
+     * @param floor The lowest transaction ID.
+     * @param after Only deletions with a higher change sequence.
+     * @param limit The maximum number of rows.
+     * @return The IDs of the deleted events and their change sequence numbers.
+     */
+    @Query(value = "SELECT event_id AS \"id\", change_seq AS \"changeSeq\" FROM event_tombstone " +
+                   "WHERE change_xid >= :floor AND change_seq > :after ORDER BY change_seq LIMIT :limit",
+           nativeQuery = true)
+    List<ChangeRow> findDeletedSince(@Param("floor") long floor, @Param("after") long after, @Param("limit") int limit);
+
+    /**
+     * Removes tombstones that no valid sync token can ask for anymore.
+     * @param before Deletions before this time are removed.
+     * @return The number of tombstones removed.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM event_tombstone WHERE deleted_at < :before", nativeQuery = true)
+    int deleteTombstonesBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * An event that is due to be moved to the archive.
+     */
+    interface ArchiveCandidate {
+        UUID getId();
+        LocalDateTime getStartTime();
+    }
+
+    /**
+     * Finds and locks the earliest events that ended before a time, to move them to the archive.
+     * An event cannot end before it starts, so the start_time condition lets this read a range of the
+     * (start_time, id) index instead of scanning the table. SKIP LOCKED leaves events that are being written to
+     * the next run, and lets several nodes archive at the same time.
+     * @param before Only events that ended before this time.
+     * @param limit The maximum number of events.
+     * @return The IDs and start times of the locked events.
+     */
+    @Query(value = "SELECT id AS \"id\", start_time AS \"startTime\" FROM event " +
+                   "WHERE start_time < :before AND end_time < :before " +
+                   "ORDER BY start_time, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<ArchiveCandidate> lockEventsEndedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * Moves events from the event table to event_archive, leaving a tombstone for the change feed.
+     * Their registrations must have been moved first (see EventRegistrationRepository.archiveByEventIdIn),
+     * and the archive partitions of their months must exist (see {@link #createArchivePartitions}).
+     * @param eventIds The IDs of the events.
+     * @return The number of events moved.
+     */
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM event WHERE id IN (:eventIds) " +
+                   "               RETURNING id, title, description, start_time, end_time, location, address, " +
+                   "                         creator_id, organizer_type, capacity, registered_count), " +
+                   "tombstones AS (INSERT INTO event_tombstone (event_id) SELECT id FROM moved ON CONFLICT DO NOTHING) " +
+                   "INSERT INTO event_archive (id, title, description, start_time, end_time, location, address, " +
+                   "                           creator_id, organizer_type, capacity, registered_count) " +
+                   "SELECT id, title, description, start_time, end_time, location, address, " +
+                   "       creator_id, organizer_type, capacity, registered_count FROM moved",
+           nativeQuery = true)
+    int archiveEvents(@Param("eventIds") Collection<UUID> eventIds);
+
+    /**
+     * An event in the archive.
+     */
+    interface ArchivedEvent {
+        UUID getId();
+        String getTitle();
+        String getDescription();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+        Long getLocationId();
+        String getAddress();
+        String getCreatorId();
+        Event.OrganizerType getOrganizerType();
+        Integer getCapacity();
+        Integer getRegisteredCount();
+    }
+
+    /**
+     * Archive columns under the names of {@link ArchivedEvent}.
+     */
+    String ARCHIVED_EVENT_COLUMNS = "id AS \"id\", title AS \"title\", description AS \"description\", " +
+                                    "start_time AS \"startTime\", end_time AS \"endTime\", location AS \"locationId\", " +
+                                    "address AS \"address\", creator_id AS \"creatorId\", organizer_type AS \"organizerType\", " +
+                                    "capacity AS \"capacity\", registered_count AS \"registeredCount\"";
+
+    /**
+     * Find archived events starting within a time window, ordered by start time, then ID.
+     * Only the partitions of the months in the window are read.
+     * @param from Only events starting at or after this time.
+     * @param to Only events starting before this time.
+     * @param locationId Only events at this location, or null for all locations.
+     * @param limit The maximum number of events.
+     * @return The archived events.
+     */
+    @Query(value = "SELECT " + ARCHIVED_EVENT_COLUMNS + " FROM event_archive " +
+                   "WHERE start_time >= :from AND start_time < :to " +
+                   "AND (CAST(:locationId AS bigint) IS NULL OR location = :locationId) " +
+                   "ORDER BY start_time, id LIMIT :limit",
+           nativeQuery = true)
+    List<ArchivedEvent> findArchivedEvents(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("locationId") Long locationId,
+                                           @Param("limit") int limit);
+
+    /**
+     * Find an archived event by ID. Without a start time every partition is probed, one index lookup each.
+     * @param id The ID of the event.
+     * @return The archived event, or empty if it is not in the archive.
+     */
+    @Query(value = "SELECT " + ARCHIVED_EVENT_COLUMNS + " FROM event_archive WHERE id = :id", nativeQuery = true)
+    Optional<ArchivedEvent> findArchivedEvent(@Param("id") UUID id);
+
+    /**
+     * Find which of the given event IDs exist.
+     * @param ids The IDs to check.
+     * @return The IDs that belong to an event.
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Streams every event for export, ordered by start time, then ID.
+     * The fetch size makes the PostgreSQL driver read through a server-side cursor in chunks
+     * instead of buffering the whole result, and the DTO projection keeps rows out of the
+     * persistence context, so memory use does not grow with the table.
+     * Must be consumed inside a transaction, and the stream must be closed.
+     * @return The events, one DTO per row.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.neu.nuboard.dto.EventExportDTO(e.id, e.title, e.description, e.startTime, e.endTime, " +
+           "e.location.id, e.address, e.creatorId, e.organizerType, e.capacity, e.registeredCount) " +
+           "FROM Event e ORDER BY e.startTime, e.id")
+    Stream<EventExportDTO> streamForExport();
 }
@@ -0,0 +1,41 @@
+package com.neu.nuboard.repository;
+
+import com.neu.nuboard.model.Event;
+import com.neu.nuboard.utils.EventCursor;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Event queries that need dynamically built SQL.
+ * Only the filters that are actually set end up in the WHERE clause,
+ * so PostgreSQL can plan each combination against the matching index.
+ * Also DDL whose table names depend on the data.
+ */
+public interface EventRepositoryCustom {
+
+    /**
+     * Finds the next page of events ordered by start time, then ID (keyset pagination).
+     * @param locationId Only events at this location, or null for all locations.
+     * @param organizerType Only events of this organizer type, or null for all types.
+     * @param from Only events starting at or after this time, or null for no lower bound.
+     * @param to Only events starting before this time, or null for no upper bound.
+     * @param after Only events positioned after this cursor, or null to start from the first event.
+     * @param limit The maximum number of events to return.
+     * @return The matching events, at most limit of them.
+     */
+    List<Event> findEventPage(Long locationId,
+                              Event.OrganizerType organizerType,
+                              LocalDateTime from,
+                              LocalDateTime to,
+                              EventCursor after,
+                              int limit);
+
+    /**
+     * Creates the partitions of event_archive and event_registration_archive for one month, unless they exist.
+     * Takes a lock on the archive tables until the transaction ends.
+     * @param month The month of the events' start times.
+     */
+    void createArchivePartitions(YearMonth month);
+}
@@ -0,0 +1,82 @@
+package com.neu.nuboard.repository;
+
+import com.neu.nuboard.model.Event;
+import com.neu.nuboard.utils.EventCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Criteria API implementation of {@link EventRepositoryCustom}.
+ * Spring Data picks this class up by its "Impl" suffix and merges it into {@link EventRepository}.
+ */
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Event> findEventPage(Long locationId,
+                                     Event.OrganizerType organizerType,
+                                     LocalDateTime from,
+                                     LocalDateTime to,
+                                     EventCursor after,
+                                     int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+        Path<LocalDateTime> startTime = event.get("startTime");
+        Path<UUID> id = event.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (locationId != null) {
+            predicates.add(cb.equal(event.get("location").get("id"), locationId));
+        }
+        if (organizerType != null) {
+            predicates.add(cb.equal(event.get("organizerType"), organizerType));
+        }
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(startTime, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(startTime, to));
+        }
+        if (after != null) {
+            // start_time >= :t gives the index scan its starting point,
+            // the OR only filters the few rows that share the cursor's start time.
+            predicates.add(cb.greaterThanOrEqualTo(startTime, after.getStartTime()));
+            predicates.add(cb.or(
+                    cb.greaterThan(startTime, after.getStartTime()),
+                    cb.greaterThan(id, after.getId())));
+        }
+
+        query.select(event)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(startTime), cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void createArchivePartitions(YearMonth month) {
+        // Table names and bounds come from the YearMonth, never from user input
+        String suffix = String.format("%04d_%02d", month.getYear(), month.getMonthValue());
+        String bounds = "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        entityManager.createNativeQuery("CREATE TABLE IF NOT EXISTS event_archive_" + suffix +
+                " PARTITION OF event_archive " + bounds).executeUpdate();
+        entityManager.createNativeQuery("CREATE TABLE IF NOT EXISTS event_registration_archive_" + suffix +
+                " PARTITION OF event_registration_archive " + bounds).executeUpdate();
+    }
+}
@@ -1,17 +1,32 @@
 package com.neu.nuboard.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.neu.nuboard.dto.UserExportDTO;
 import com.neu.nuboard.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, UUID> {
+    // 用户ID及其校区（分片部署时用来确定用户的主分片）
+    interface UserLocation {
+        UUID getId();
+        Long getLocationId();
+    }
+
     // 检查用户名是否已存在
     boolean existsByUsername(String username);
     
@@ -24,4 +39,39 @@ public interface UserRepository extends JpaRepository<User, String> {
     // 根据用户名或邮箱模糊搜索用户
     @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<User> findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCase(@Param("keyword") String keyword, @Param("keyword") String email);
+
+    // 批量检查哪些用户ID存在（只查主键，不加载用户实体）
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // 批量查询用户所在校区（只查两列，不加载用户实体）
+    @Query("SELECT u.id AS id, u.location.id AS locationId FROM User u WHERE u.id IN :ids")
+    List<UserLocation> findLocationsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // 在当前分片写入或覆盖用户的副本：跨校区报名时，报名记录在活动所在分片，外键要求用户行也在那里
+    @Modifying
+    @Query(value = "INSERT INTO users (id, username, program, email, location_id, college_id) " +
+                   "VALUES (:id, :username, :program, :email, :locationId, :collegeId) " +
+                   "ON CONFLICT (id) DO UPDATE SET username = EXCLUDED.username, program = EXCLUDED.program, " +
+                   "email = EXCLUDED.email, location_id = EXCLUDED.location_id, college_id = EXCLUDED.college_id",
+           nativeQuery = true)
+    int upsertCopy(@Param("id") UUID id, @Param("username") String username, @Param("program") String program,
+                   @Param("email") String email, @Param("locationId") Long locationId, @Param("collegeId") Long collegeId);
+
+    // 更新当前分片上已有的用户副本，没有副本时什么也不做
+    @Modifying
+    @Query(value = "UPDATE users SET username = :username, program = :program, email = :email, " +
+                   "location_id = :locationId, college_id = :collegeId WHERE id = :id",
+           nativeQuery = true)
+    int updateCopy(@Param("id") UUID id, @Param("username") String username, @Param("program") String program,
+                   @Param("email") String email, @Param("locationId") Long locationId, @Param("collegeId") Long collegeId);
+
+    // 流式导出所有用户（服务端游标按批读取，只投影为DTO，内存占用与表大小无关；必须在事务内消费并关闭）
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.neu.nuboard.dto.UserExportDTO(u.id, u.username, u.email, u.program, u.location.id, u.college.id) " +
+           "FROM User u ORDER BY u.id")
+    Stream<UserExportDTO> streamForExport();
 } 
\ No newline at end of file
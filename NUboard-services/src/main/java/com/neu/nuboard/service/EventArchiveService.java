@@ -0,0 +1,216 @@
+package com.neu.nuboard.service;
+
+import com.neu.nuboard.datasource.ShardRouter;
+import com.neu.nuboard.dto.EventRegistrationDTO;
+import com.neu.nuboard.dto.EventResponseDTO;
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import com.neu.nuboard.repository.EventRegistrationRepository;
+import com.neu.nuboard.repository.EventRegistrationRepository.ArchivedRegistration;
+import com.neu.nuboard.repository.EventRepository;
+import com.neu.nuboard.repository.EventRepository.ArchiveCandidate;
+import com.neu.nuboard.repository.EventRepository.ArchivedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves past events out of the event and event_registration tables, and reads them back from the archive.
+ * <p>
+ * Events that ended more than nuboard.archive.retention ago are moved with their registrations into
+ * event_archive and event_registration_archive, which are partitioned by month of the start time
+ * (see db/migration/V2__upgrade_released_schema.sql).
+ * Every other query reads the hot tables only, so those tables and their indexes grow with the retention window
+ * and the events planned ahead, not with the years of history kept. The archive is read by start time window,
+ * which PostgreSQL prunes to the partitions of those months.
+ * <p>
+ * The hot tables themselves are not partitioned. A partitioned table needs its partition key in every primary key and
+ * unique constraint, so event would be keyed by (start_time, id): the registration foreign key and the unique
+ * (event_id, user_id) would have to carry the start time, editing an event's start time would move it and its
+ * registrations to other partitions, and a lookup by ID alone would probe every partition. Archived rows are never
+ * updated and are read by start time window, so the archive has none of these costs.
+ * <p>
+ * An archived event leaves a tombstone, so /api/events/changes reports it as deleted, like GET /api/events no longer lists it.
+ * With sharding every shard archives its own events.
+ */
+@Service
+public class EventArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiveService.class);
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final EventDetailCache eventDetailCache;
+    private final ShardRouter shards;
+    private final ShardDirectory directory;
+    private final boolean enabled;
+    // Events that ended longer ago than this are archived
+    private final Duration retention;
+    // Events moved per transaction, so the moved rows are only locked briefly
+    private final int batchSize;
+
+    public EventArchiveService(EventRepository eventRepository,
+                               EventRegistrationRepository registrationRepository,
+                               EventDetailCache eventDetailCache,
+                               ShardRouter shards,
+                               ShardDirectory directory,
+                               @Value("${nuboard.archive.enabled:true}") boolean enabled,
+                               @Value("${nuboard.archive.retention:180d}") Duration retention,
+                               @Value("${nuboard.archive.batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.eventDetailCache = eventDetailCache;
+        this.shards = shards;
+        this.directory = directory;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Moves the events that ended before the retention window to the archive, batch by batch, in every shard.
+     * A shard that fails is retried on the next run; the batches it already moved stay moved.
+     */
+    @Scheduled(fixedDelayString = "${nuboard.archive.interval-ms:3600000}",
+               initialDelayString = "${nuboard.archive.interval-ms:3600000}")
+    public void archivePastEvents() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        for (String shard : shards.getShards()) {
+            int total = 0;
+            try {
+                int moved;
+                do {
+                    moved = shards.inTransaction(shard, false, () -> archiveBatch(before));
+                    total += moved;
+                } while (moved == batchSize);
+            } catch (RuntimeException e) {
+                log.warn("Archiving events of shard {} failed after {} events", shard, total, e);
+                continue;
+            }
+            if (total > 0) {
+                log.info("Archived {} events of shard {} that ended before {}", total, shard, before);
+            }
+        }
+    }
+
+    /**
+     * Moves one batch of events and their registrations to the archive, in the current transaction.
+     * @return The number of events moved.
+     */
+    private int archiveBatch(LocalDateTime before) {
+        List<ArchiveCandidate> candidates = eventRepository.lockEventsEndedBefore(before, batchSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        // Two nodes creating the same new partition at once make one of them fail; it moves the batch on the next run
+        candidates.stream()
+                .map(candidate -> YearMonth.from(candidate.getStartTime()))
+                .distinct()
+                .forEach(eventRepository::createArchivePartitions);
+        List<UUID> eventIds = candidates.stream().map(ArchiveCandidate::getId).collect(Collectors.toList());
+        // Registrations first, their foreign key points at the events
+        registrationRepository.archiveByEventIdIn(eventIds);
+        eventRepository.archiveEvents(eventIds);
+        eventDetailCache.evictAll(eventIds);
+        eventIds.forEach(directory::eventDeleted);
+        return eventIds.size();
+    }
+
+    /**
+     * Retrieves archived events starting within a time window, earliest first.
+     * @param from Only events starting at or after this time (yyyy-MM-dd'T'HH:mm:ss), required.
+     * @param to Only events starting before this time (yyyy-MM-dd'T'HH:mm:ss), required.
+     * @param locationId Only events at this location, or null for all locations.
+     * @param limit The maximum number of events, between 1 and {@value EventService#MAX_WINDOW_SIZE}.
+     * @return List of EventResponseDTO ordered by start time, then ID.
+     */
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> getArchivedEvents(String from, String to, Long locationId, int limit) {
+        LocalDateTime fromTime = EventService.parseTime(from);
+        LocalDateTime toTime = EventService.parseTime(to);
+        if (fromTime == null || toTime == null || !fromTime.isBefore(toTime)) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
+        }
+        if (limit < 1 || limit > EventService.MAX_WINDOW_SIZE) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_PAGE_SIZE);
+        }
+        return shards.gather(shards.shardsForLocation(locationId),
+                shard -> mapToResponseDTOs(eventRepository.findArchivedEvents(fromTime, toTime, locationId, limit)),
+                EventService.EVENT_ORDER, limit);
+    }
+
+    /**
+     * Retrieves one archived event with its registrations.
+     * @param id The ID of the event.
+     * @return EventResponseDTO containing the event details.
+     */
+    @Transactional(readOnly = true)
+    public EventResponseDTO getArchivedEventById(String id) {
+        UUID eventId = EventService.parseEventId(id);
+        List<EventResponseDTO> found = shards.gather(shards.getShards(),
+                shard -> mapToResponseDTOs(eventRepository.findArchivedEvent(eventId).map(List::of).orElse(List.of())),
+                EventService.EVENT_ORDER, 1);
+        if (found.isEmpty()) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        return found.get(0);
+    }
+
+    /**
+     * Maps archived events to EventResponseDTOs, reading the registrations of all of them with one query.
+     */
+    private List<EventResponseDTO> mapToResponseDTOs(List<ArchivedEvent> events) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Set<EventRegistrationDTO>> registrationsByEvent = new HashMap<>();
+        events.forEach(event -> registrationsByEvent.put(event.getId().toString(), new HashSet<>()));
+        LocalDateTime first = events.stream().map(ArchivedEvent::getStartTime).min(Comparator.naturalOrder()).get();
+        LocalDateTime last = events.stream().map(ArchivedEvent::getStartTime).max(Comparator.naturalOrder()).get();
+        List<UUID> eventIds = events.stream().map(ArchivedEvent::getId).collect(Collectors.toList());
+        for (ArchivedRegistration registration : registrationRepository.findArchivedByEventIdIn(eventIds, first, last)) {
+            String eventId = registration.getEventId().toString();
+            registrationsByEvent.get(eventId).add(new EventRegistrationDTO(registration.getId(), eventId,
+                    registration.getUserId().toString(), registration.getStatus()));
+        }
+        return events.stream()
+                .map(event -> mapToResponseDTO(event, registrationsByEvent.get(event.getId().toString())))
+                .collect(Collectors.toList());
+    }
+
+    private EventResponseDTO mapToResponseDTO(ArchivedEvent event, Set<EventRegistrationDTO> registrations) {
+        EventResponseDTO responseDTO = new EventResponseDTO();
+        responseDTO.setId(event.getId().toString());
+        responseDTO.setTitle(event.getTitle());
+        responseDTO.setDescription(event.getDescription());
+        responseDTO.setStartTime(event.getStartTime());
+        responseDTO.setEndTime(event.getEndTime());
+        responseDTO.setLocationId(event.getLocationId());
+        responseDTO.setAddress(event.getAddress());
+        responseDTO.setCreatorId(event.getCreatorId());
+        responseDTO.setOrganizerType(event.getOrganizerType());
+        responseDTO.setCapacity(event.getCapacity());
+        responseDTO.setRegisteredCount(event.getRegisteredCount());
+        responseDTO.setRegistrations(registrations);
+        return responseDTO;
+    }
+}
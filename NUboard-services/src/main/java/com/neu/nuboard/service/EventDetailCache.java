@@ -0,0 +1,73 @@
+package com.neu.nuboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neu.nuboard.dto.EventResponseDTO;
+import com.neu.nuboard.utils.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of event details (GET /api/events/{id}), read through on a miss.
+ * Entries are evicted by every write that changes the event or its registrations, once that write has committed,
+ * and expire after the configured TTL as a safety net for writes made outside this application.
+ * Published as cache.gets / cache.puts / cache.evictions with cache=eventDetail.
+ */
+@Component
+public class EventDetailCache {
+
+    static final String NAME = "eventDetail";
+
+    private final Cache<UUID, EventResponseDTO> cache;
+
+    public EventDetailCache(@Value("${nuboard.event-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${nuboard.event-cache.ttl:60s}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Get an event's details, loading them on a miss.
+     * Concurrent misses for the same event wait for a single load, so a hot event that just expired
+     * costs one round of queries, not one per request.
+     * @param eventId The event ID.
+     * @param loader Loads the details, returning null if the event does not exist (not cached).
+     * @return The details, or null if the event does not exist.
+     */
+    public EventResponseDTO get(UUID eventId, Function<UUID, EventResponseDTO> loader) {
+        return cache.get(eventId, loader);
+    }
+
+    /**
+     * Evicts an event once the current transaction has committed, so the next read sees the committed state.
+     * @param eventId The event ID.
+     */
+    public void evict(UUID eventId) {
+        TransactionUtil.afterCommit(() -> cache.invalidate(eventId));
+    }
+
+    /**
+     * Evicts several events once the current transaction has committed.
+     * @param eventIds The event IDs.
+     */
+    public void evictAll(Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(eventIds);
+        TransactionUtil.afterCommit(() -> cache.invalidateAll(ids));
+    }
+}
@@ -0,0 +1,411 @@
+package com.neu.nuboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neu.nuboard.datasource.ShardRouter;
+import com.neu.nuboard.dto.EventCreateDTO;
+import com.neu.nuboard.dto.EventImportErrorDTO;
+import com.neu.nuboard.dto.EventImportResultDTO;
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import com.neu.nuboard.model.Event;
+import com.neu.nuboard.model.Location;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for importing events in bulk from an NDJSON or CSV upload, e.g. a term's calendar.
+ * <p>
+ * The upload is read row by row while it arrives. Each row is validated like a POST /api/events body,
+ * with the location served from memory, and the valid events are inserted {@value #INSERT_BATCH_SIZE} at a time,
+ * one JDBC batch per shard. Memory use stays the same whatever the size of the upload.
+ * <p>
+ * A row that fails validation is reported and skipped; the other rows are still imported. Each batch commits on its own,
+ * so a batch the database rejects fails only its own rows, and the batches before it stay imported.
+ * Imported events are not announced on the /api/events/stream, which a term's calendar would flood;
+ * clients pick them up from /api/events/changes.
+ */
+@Service
+public class EventImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventImportService.class);
+
+    // Matches hibernate.jdbc.batch_size, so one chunk of a shard is sent as one JDBC batch.
+    private static final int INSERT_BATCH_SIZE = 500;
+    // Rows listed in the result; beyond that only the count grows.
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    // Far above a valid row, whose longest fields are the 1024 character description and the 255 character title.
+    private static final int MAX_ROW_LENGTH = 16 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    // The columns of the CSV export (see ExportService); id and registeredCount are ignored when present.
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "title", "startTime", "endTime", "locationId", "address", "creatorId", "organizerType");
+    private static final List<String> OPTIONAL_COLUMNS = List.of("description", "capacity");
+
+    private final ReferenceDataRegistry referenceData;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shards;
+    private final ShardDirectory directory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EventImportService(ReferenceDataRegistry referenceData,
+                              ObjectMapper objectMapper,
+                              ShardRouter shards,
+                              ShardDirectory directory) {
+        this.referenceData = referenceData;
+        this.objectMapper = objectMapper;
+        this.shards = shards;
+        this.directory = directory;
+    }
+
+    /**
+     * Imports the events of an upload.
+     * Not transactional: every batch runs in its own transaction on the shard of its events.
+     * @param input The upload; one JSON object per line, or CSV with a header row naming the columns.
+     * @param format "ndjson" or "csv", case-insensitive.
+     * @return How many events were imported, and why the other rows were not.
+     * @throws BusinessException if the format is not supported, or a CSV header lacks a required column.
+     * @throws IOException if reading the upload fails; the batches inserted until then stay imported.
+     */
+    public EventImportResultDTO importEvents(InputStream input, String format) throws IOException {
+        boolean csv = parseFormat(format) == ExportService.Format.CSV;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        RowReader rows = csv ? new CsvRowReader(reader) : new NdjsonRowReader(reader, objectMapper);
+
+        ImportProgress progress = new ImportProgress();
+        List<PendingEvent> chunk = new ArrayList<>(INSERT_BATCH_SIZE);
+        long row = 0;
+        while (true) {
+            Map<String, String> fields;
+            try {
+                fields = rows.next();
+            } catch (BusinessException e) {
+                progress.failed(++row, e);
+                continue;
+            }
+            if (fields == null) {
+                break;
+            }
+            row++;
+            try {
+                chunk.add(new PendingEvent(row, toEvent(fields)));
+            } catch (BusinessException e) {
+                progress.failed(row, e);
+                continue;
+            }
+            if (chunk.size() == INSERT_BATCH_SIZE) {
+                insert(chunk, progress);
+                chunk.clear();
+            }
+        }
+        insert(chunk, progress);
+
+        log.info("Imported {} events, {} rows failed", progress.imported, progress.failed);
+        return new EventImportResultDTO(progress.imported, progress.failed, progress.errors,
+                progress.failed > progress.errors.size());
+    }
+
+    private static ExportService.Format parseFormat(String value) {
+        for (ExportService.Format format : ExportService.Format.values()) {
+            if (format.getExtension().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException(ErrorCode.INVALID_IMPORT_FORMAT);
+    }
+
+    /**
+     * Validates one row through the setters of EventCreateDTO, so that imported events follow
+     * the same rules as events created one by one, and builds the event.
+     */
+    private Event toEvent(Map<String, String> fields) {
+        EventCreateDTO dto = new EventCreateDTO();
+        dto.setTitle(fields.get("title"));
+        dto.setDescription(emptyToNull(fields.get("description")));
+        dto.setStartTime(fields.get("startTime"));
+        dto.setEndTime(fields.get("endTime"));
+        dto.setLocationId(parseNumber(fields.get("locationId"), Long::valueOf, ErrorCode.EVENT_INVALID_LOCATION));
+        dto.setAddress(fields.get("address"));
+        dto.setCreatorId(fields.get("creatorId"));
+        dto.setOrganizerType(fields.get("organizerType"));
+        dto.setCapacity(parseNumber(fields.get("capacity"), Integer::valueOf, ErrorCode.EVENT_INVALID_CAPACITY));
+
+        // Served from memory, so checking every row costs no query
+        Location location = referenceData.findLocation(dto.getLocationId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.EVENT_INVALID_LOCATION));
+        Event event = Event.fromDTO(dto);
+        event.setLocation(location);
+        return event;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parseNumber(String value, Function<String, T> parser, ErrorCode error) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException(error);
+        }
+    }
+
+    /**
+     * Inserts a chunk of valid events, one transaction per shard. With an assigned ID, save() would merge
+     * and read every row first, so the events are persisted directly; the flush sends them as one JDBC batch,
+     * and clearing the persistence context keeps it from growing with the upload.
+     */
+    private void insert(List<PendingEvent> chunk, ImportProgress progress) {
+        Map<String, List<PendingEvent>> byShard = chunk.stream()
+                .collect(Collectors.groupingBy(pending -> shards.shardForLocation(pending.event.getLocationId()),
+                        LinkedHashMap::new, Collectors.toList()));
+        byShard.forEach((shard, events) -> {
+            try {
+                shards.inTransaction(shard, false, () -> {
+                    for (PendingEvent pending : events) {
+                        pending.event.setLocation(entityManager.getReference(Location.class, pending.event.getLocationId()));
+                        entityManager.persist(pending.event);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.warn("Importing {} events into shard {} failed", events.size(), shard, e);
+                BusinessException error = new BusinessException(ErrorCode.DATABASE_ERROR);
+                events.forEach(pending -> progress.failed(pending.row, error));
+                return;
+            }
+            events.forEach(pending -> directory.eventCreated(pending.event.getId(), shard));
+            progress.imported += events.size();
+        });
+    }
+
+    /**
+     * A validated event waiting for its chunk to be inserted, with the row it came from.
+     */
+    private static final class PendingEvent {
+        private final long row;
+        private final Event event;
+
+        PendingEvent(long row, Event event) {
+            this.row = row;
+            this.event = event;
+        }
+    }
+
+    private static final class ImportProgress {
+        private long imported;
+        private long failed;
+        private final List<EventImportErrorDTO> errors = new ArrayList<>();
+
+        private void failed(long row, BusinessException e) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EventImportErrorDTO(row, e.getErrorCode().getCode(), e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Reads the rows of an upload one at a time, as field name to value.
+     */
+    private interface RowReader {
+        /**
+         * @return The fields of the next row, or null at the end of the upload. A missing or null field is absent.
+         * @throws BusinessException EVENT_IMPORT_MALFORMED_ROW if the row cannot be parsed; the row is consumed,
+         * so the next call reads the row after it.
+         */
+        Map<String, String> next() throws IOException;
+    }
+
+    /**
+     * One JSON object per line, with the fields of a POST /api/events body or of the NDJSON export. Blank lines are skipped.
+     */
+    private static final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private final StringBuilder line = new StringBuilder();
+
+        NdjsonRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            boolean tooLong;
+            do {
+                line.setLength(0);
+                tooLong = false;
+                int c;
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    if (line.length() < MAX_ROW_LENGTH) {
+                        line.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                if (c == -1 && line.toString().isBlank()) {
+                    return null;
+                }
+            } while (line.toString().isBlank());
+            if (tooLong) {
+                throw new BusinessException(ErrorCode.EVENT_IMPORT_MALFORMED_ROW,
+                        "Row longer than " + MAX_ROW_LENGTH + " characters");
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line.toString());
+            } catch (JsonProcessingException e) {
+                throw new BusinessException(ErrorCode.EVENT_IMPORT_MALFORMED_ROW, "Invalid JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new BusinessException(ErrorCode.EVENT_IMPORT_MALFORMED_ROW, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    fields.put(field.getKey(), field.getValue().asText());
+                }
+            });
+            return fields;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV, as written by the CSV export: a header row naming the columns, in any order,
+     * then one record per event. A quoted field may contain commas, doubled quotes and line breaks.
+     * Blank lines are skipped, and an empty field counts as missing.
+     */
+    private static final class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> header;
+
+        /**
+         * Reads the header row.
+         * @throws BusinessException EVENT_IMPORT_INVALID_HEADER if the header is missing or lacks a required column,
+         * which fails the whole import before any row is inserted.
+         */
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> columns;
+            try {
+                columns = readRecord();
+            } catch (BusinessException e) {
+                columns = null;
+            }
+            if (columns == null || !columns.containsAll(REQUIRED_COLUMNS)) {
+                throw new BusinessException(ErrorCode.EVENT_IMPORT_INVALID_HEADER,
+                        "The header must name the columns " + REQUIRED_COLUMNS + ", optionally " + OPTIONAL_COLUMNS);
+            }
+            this.header = columns;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            if (values.size() != header.size()) {
+                throw new BusinessException(ErrorCode.EVENT_IMPORT_MALFORMED_ROW,
+                        "Expected " + header.size() + " fields, found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                if (!values.get(i).isEmpty()) {
+                    fields.put(header.get(i), values.get(i));
+                }
+            }
+            return fields;
+        }
+
+        /**
+         * @return The fields of the next record, or null at the end of the upload.
+         * @throws BusinessException EVENT_IMPORT_MALFORMED_ROW if the record is too long, or a quoted field is never closed.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            while (c == '\r' || c == '\n') {
+                c = reader.read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            field.setLength(0);
+            int length = 0;
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new BusinessException(ErrorCode.EVENT_IMPORT_MALFORMED_ROW, "Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                    c = reader.read();
+                    continue;
+                } else if (c == ',' || c == '\r' || c == '\n' || c == -1) {
+                    if (length <= MAX_ROW_LENGTH) {
+                        values.add(field.toString());
+                    }
+                    field.setLength(0);
+                    if (c == ',') {
+                        length++;
+                        c = reader.read();
+                        continue;
+                    }
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (length > MAX_ROW_LENGTH) {
+                        throw new BusinessException(ErrorCode.EVENT_IMPORT_MALFORMED_ROW,
+                                "Row longer than " + MAX_ROW_LENGTH + " characters");
+                    }
+                    return values;
+                }
+                // Past the limit the rest of the record is still read, so the next one starts in the right place
+                if (++length <= MAX_ROW_LENGTH) {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
@@ -1,30 +1,86 @@
 package com.neu.nuboard.service;
 
+import com.neu.nuboard.datasource.ShardRouter;
+import com.neu.nuboard.dto.BulkRegistrationRequestDTO;
+import com.neu.nuboard.dto.BulkRegistrationResultDTO;
+import com.neu.nuboard.dto.BulkRegistrationResultDTO.Result;
 import com.neu.nuboard.dto.EventRegistrationDTO;
 import com.neu.nuboard.model.Event;
 import com.neu.nuboard.model.EventRegistration;
 import com.neu.nuboard.model.User;
 import com.neu.nuboard.repository.EventRegistrationRepository;
+import com.neu.nuboard.repository.EventRegistrationRepository.RegistrationOutcome;
 import com.neu.nuboard.repository.EventRepository;
 import com.neu.nuboard.repository.UserRepository;
 import com.neu.nuboard.exception.BusinessException;
 import com.neu.nuboard.exception.ErrorCode;
+import com.neu.nuboard.utils.TransactionUtil;
+import com.neu.nuboard.utils.UUIDutil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service class for managing event registration-related business logic.
  * Provides methods to register, unregister, and retrieve event registrations.
+ * <p>
+ * Seats are counted in event.registered_count and only changed through conditional UPDATEs
+ * (see {@link EventRepository#reserveSeat(UUID)}), so events never get oversold and no
+ * registration has to lock the event for longer than its own short transaction.
+ * Users who register for a full event are waitlisted and promoted first-come, first-served.
+ * Everything that changes an event's seats or waitlist locks the event row before its registrations,
+ * so a freed seat is never given back while another transaction is waitlisting a user for it.
+ * <p>
+ * With sharding, a registration lives in the shard of its event. A user from a campus in another shard
+ * (a cross-campus registration) is first copied into the event's shard, in the registration's transaction,
+ * because the registration's foreign key needs the user row there; {@link UserService} keeps the copies up to date.
  */
 @Service
 public class EventRegistrationService {
 
+    /**
+     * Maximum number of items in one bulk registration request.
+     */
+    public static final int MAX_BULK_SIZE = 10_000;
+    // Rows per INSERT batch; matches hibernate.jdbc.batch_size in application.yml.
+    private static final int INSERT_BATCH_SIZE = 500;
+    // IDs per IN list; stays well below PostgreSQL's bind parameter limit.
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+    // Registration IDs come from one sequence per shard, so merged lists are ordered by ID within each shard's range.
+    private static final Comparator<EventRegistrationDTO> REGISTRATION_ORDER = Comparator.comparing(EventRegistrationDTO::getId);
+
     private final EventRegistrationRepository registrationRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final EventDetailCache eventDetailCache;
+    private final EventStreamService eventStream;
+    private final ShardRouter shards;
+    private final ShardDirectory directory;
+    private final Counter unregistrations;
+    private final Counter promotions;
+    private final Counter userCopies;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Constructs an EventRegistrationService with the specified repositories.
@@ -32,23 +88,52 @@ public class EventRegistrationService {
      * @param registrationRepository the repository for event registration persistence operations
      * @param eventRepository the repository for event persistence operations
      * @param userRepository the repository for user persistence operations
+     * @param meterRegistry the registry for the registration counters
+     * @param eventDetailCache the event details to evict when registrations change
+     * @param eventStream the live stream that registration changes are announced on
+     * @param shards the router that selects the shard of the event being registered for
+     * @param directory the lookup of the shards that events and users live in
      */
     public EventRegistrationService(EventRegistrationRepository registrationRepository,
                                     EventRepository eventRepository,
-                                    UserRepository userRepository) {
+                                    UserRepository userRepository,
+                                    MeterRegistry meterRegistry,
+                                    EventDetailCache eventDetailCache,
+                                    EventStreamService eventStream,
+                                    ShardRouter shards,
+                                    ShardDirectory directory) {
         this.registrationRepository = registrationRepository;
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.eventDetailCache = eventDetailCache;
+        this.eventStream = eventStream;
+        this.shards = shards;
+        this.directory = directory;
+        this.unregistrations = Counter.builder("nuboard.unregistrations")
+                .description("Registrations removed")
+                .register(meterRegistry);
+        this.promotions = Counter.builder("nuboard.waitlist.promotions")
+                .description("Waitlisted users moved onto a seat")
+                .register(meterRegistry);
+        this.userCopies = Counter.builder("nuboard.registrations.cross-shard")
+                .description("Users copied into the shard of an event on another campus to register for it")
+                .register(meterRegistry);
     }
 
     /**
      * Registers a user for an event.
+     * If the event is full, the user is put on its waitlist instead.
+     * All checks, the seat and the insert happen in one SQL statement
+     * (see {@link EventRegistrationRepository#insertRegistration(UUID, UUID)}), i.e. one database round trip.
      *
      * @param eventId the ID of the event
      * @param userId the ID of the user to register
+     * @return an {@link EventRegistrationDTO} whose status tells whether the user got a seat
      * @throws BusinessException if the event or user is not found, the input is invalid, or the user is already registered
      */
-    public void registerForEvent(String eventId, String userId) {
+    @Transactional
+    public EventRegistrationDTO registerForEvent(String eventId, String userId) {
         // Validate input
         if (eventId == null || eventId.trim().isEmpty()) {
             throw new BusinessException(ErrorCode.VALIDATION_ERROR);
@@ -57,33 +142,279 @@ public class EventRegistrationService {
             throw new BusinessException(ErrorCode.VALIDATION_ERROR);
         }
 
-        // Find the event and user
-        Event event = eventRepository.findById(eventId)
+        // A malformed ID cannot match any row, so it is reported like an unknown one
+        UUID eventUuid = UUIDutil.parse(eventId);
+        if (eventUuid == null) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        UUID userUuid = UUIDutil.parse(userId);
+        if (userUuid == null) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+
+        String shard = directory.locateEvent(eventUuid)
                 .orElseThrow(() -> new BusinessException(ErrorCode.EVENT_NOT_FOUND));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        shards.bind(shard);
+        copyUsersToShard(List.of(userUuid), shard);
 
-        // Check for duplicate registration
-        if (registrationRepository.existsByEventIdAndUserId(eventId, userId)) {
+        RegistrationOutcome outcome = registrationRepository.insertRegistration(eventUuid, userUuid);
+        if (!outcome.getEventFound()) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        if (!outcome.getUserFound()) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        if (outcome.getRegistrationId() == null) {
+            // Throwing rolls back the seat a racing duplicate may have taken
             throw new BusinessException(ErrorCode.ALREADY_REGISTERED);
         }
+        EventRegistration.Status status = EventRegistration.Status.valueOf(outcome.getStatus());
+        eventDetailCache.evict(eventUuid);
+        eventStream.registrationsChanged(eventUuid,
+                status == EventRegistration.Status.REGISTERED ? 1 : 0,
+                status == EventRegistration.Status.WAITLISTED ? 1 : 0);
+        countRegistrations(status, "single", 1);
+        return new EventRegistrationDTO(outcome.getRegistrationId(), eventId, userId, status);
+    }
+
+    /**
+     * Registers many users for one event, or one user for many events, in one transaction.
+     * Existence and duplicate checks are done with a few IN queries, seats are taken in one statement,
+     * and the registrations are inserted in JDBC batches.
+     * Unknown and already registered items are reported in the result instead of failing the request.
+     * With sharding, one user's registrations for events on several campuses are made one shard at a time,
+     * each in its own transaction; if a later shard fails, the earlier ones stay registered
+     * and a retry reports them as already registered.
+     *
+     * @param request either eventId and userIds, or userId and eventIds
+     * @return one {@link BulkRegistrationResultDTO} per distinct item, in request order
+     * @throws BusinessException if the request is malformed or too large, or the single event/user is not found
+     */
+    @Transactional
+    public List<BulkRegistrationResultDTO> bulkRegister(BulkRegistrationRequestDTO request) {
+        boolean forEvent = request.getEventId() != null && request.getUserIds() != null;
+        boolean forUser = request.getUserId() != null && request.getEventIds() != null;
+        if (forEvent == forUser) {
+            throw new BusinessException(ErrorCode.INVALID_BULK_REGISTRATION,
+                    "Provide either eventId and userIds, or userId and eventIds");
+        }
+        List<String> ids = forEvent ? request.getUserIds() : request.getEventIds();
+        if (ids.isEmpty() || ids.size() > MAX_BULK_SIZE || ids.stream().anyMatch(id -> id == null || id.trim().isEmpty())) {
+            throw new BusinessException(ErrorCode.INVALID_BULK_REGISTRATION,
+                    "Between 1 and " + MAX_BULK_SIZE + " non-empty IDs are required");
+        }
 
-        // Create and save the registration
-        EventRegistration registration = new EventRegistration(event, user);
         try {
-            registrationRepository.save(registration);
+            List<BulkRegistrationResultDTO> results = forEvent
+                    ? registerUsersForEvent(request.getEventId(), new LinkedHashSet<>(ids))
+                    : registerUserForEvents(request.getUserId(), new LinkedHashSet<>(ids));
+            long registered = results.stream().filter(r -> r.getStatus() == EventRegistration.Status.REGISTERED).count();
+            long waitlisted = results.stream().filter(r -> r.getStatus() == EventRegistration.Status.WAITLISTED).count();
+            countRegistrations(EventRegistration.Status.REGISTERED, "bulk", registered);
+            countRegistrations(EventRegistration.Status.WAITLISTED, "bulk", waitlisted);
+            return results;
         } catch (DataIntegrityViolationException e) {
+            // A concurrent registration for one of the pairs won the race; the client can simply retry
             throw new BusinessException(ErrorCode.ALREADY_REGISTERED);
         }
     }
 
+    private List<BulkRegistrationResultDTO> registerUsersForEvent(String eventIdValue, Set<String> userIdValues) {
+        UUID eventId = UUIDutil.parse(eventIdValue);
+        String shard = eventId == null ? null : directory.locateEvent(eventId).orElse(null);
+        if (shard == null) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        shards.bind(shard);
+        if (!eventRepository.existsById(eventId)) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        Map<String, UUID> userIds = parseIds(userIdValues);
+        List<UUID> candidates = wellFormed(userIds);
+        copyUsersToShard(candidates, shard);
+        Set<UUID> knownUsers = inBatches(candidates, userRepository::findExistingIds);
+        Set<UUID> registeredUsers = inBatches(candidates, batch -> registrationRepository.findRegisteredUserIds(eventId, batch));
+
+        List<UUID> toCreate = candidates.stream()
+                .filter(userId -> knownUsers.contains(userId) && !registeredUsers.contains(userId))
+                .collect(Collectors.toList());
+        // The first `seats` users (in request order) get a seat, the rest are waitlisted
+        Integer granted = toCreate.isEmpty() ? null : eventRepository.reserveSeats(eventId, toCreate.size());
+        int seats = granted == null ? 0 : granted;
+
+        Set<UUID> seated = new HashSet<>(toCreate.subList(0, seats));
+        if (!toCreate.isEmpty()) {
+            eventDetailCache.evict(eventId);
+            eventStream.registrationsChanged(eventId, seats, toCreate.size() - seats);
+        }
+        insertInBatches(toCreate, userId -> new EventRegistration(
+                entityManager.getReference(Event.class, eventId),
+                entityManager.getReference(User.class, userId),
+                seated.contains(userId) ? EventRegistration.Status.REGISTERED : EventRegistration.Status.WAITLISTED));
+
+        return userIds.entrySet().stream()
+                .map(entry -> toResult(eventIdValue, entry.getKey(),
+                        knownUsers.contains(entry.getValue()) ? null : Result.UNKNOWN_USER,
+                        registeredUsers.contains(entry.getValue()), seated.contains(entry.getValue())))
+                .collect(Collectors.toList());
+    }
+
+    private List<BulkRegistrationResultDTO> registerUserForEvents(String userIdValue, Set<String> eventIdValues) {
+        UUID userId = UUIDutil.parse(userIdValue);
+        String home = userId == null ? null : directory.locateUser(userId).orElse(null);
+        if (home == null) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        Map<String, UUID> eventIds = parseIds(eventIdValues);
+        List<UUID> candidates = wellFormed(eventIds);
+
+        // The events of each shard, in request order; the user's own shard is always visited, so the user gets checked
+        Map<UUID, String> eventShards = directory.locateEvents(candidates);
+        Map<String, List<UUID>> byShard = new LinkedHashMap<>();
+        byShard.put(home, new ArrayList<>());
+        candidates.stream()
+                .filter(eventShards::containsKey)
+                .forEach(eventId -> byShard.computeIfAbsent(eventShards.get(eventId), shard -> new ArrayList<>()).add(eventId));
+
+        ShardOutcome outcome = new ShardOutcome();
+        byShard.forEach((shard, shardEvents) -> outcome.add(shards.inTransaction(shard, false,
+                () -> registerUserForEventsInShard(userId, shard, shardEvents))));
+
+        return eventIds.entrySet().stream()
+                .map(entry -> toResult(entry.getKey(), userIdValue,
+                        outcome.known.contains(entry.getValue()) ? null : Result.UNKNOWN_EVENT,
+                        outcome.registered.contains(entry.getValue()), outcome.seated.contains(entry.getValue())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registers a user for the given events of the current shard; the events must all live in it.
+     */
+    private ShardOutcome registerUserForEventsInShard(UUID userId, String shard, List<UUID> candidates) {
+        copyUsersToShard(List.of(userId), shard);
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        Set<UUID> knownEvents = inBatches(candidates, eventRepository::findExistingIds);
+        Set<UUID> registeredEvents = inBatches(candidates, batch -> registrationRepository.findRegisteredEventIds(userId, batch));
+
+        List<UUID> toCreate = candidates.stream()
+                .filter(eventId -> knownEvents.contains(eventId) && !registeredEvents.contains(eventId))
+                .collect(Collectors.toList());
+        Set<UUID> seated = inBatches(toCreate, eventRepository::reserveSeatInEach);
+        // Events that only got a waitlisted user were not written by reserveSeatInEach
+        List<UUID> waitlistedOnly = toCreate.stream().filter(eventId -> !seated.contains(eventId)).collect(Collectors.toList());
+        for (int i = 0; i < waitlistedOnly.size(); i += LOOKUP_BATCH_SIZE) {
+            eventRepository.trackChanges(waitlistedOnly.subList(i, Math.min(i + LOOKUP_BATCH_SIZE, waitlistedOnly.size())));
+        }
+        eventDetailCache.evictAll(toCreate);
+        toCreate.forEach(eventId -> eventStream.registrationsChanged(eventId,
+                seated.contains(eventId) ? 1 : 0, seated.contains(eventId) ? 0 : 1));
+
+        insertInBatches(toCreate, eventId -> new EventRegistration(
+                entityManager.getReference(Event.class, eventId),
+                entityManager.getReference(User.class, userId),
+                seated.contains(eventId) ? EventRegistration.Status.REGISTERED : EventRegistration.Status.WAITLISTED));
+
+        ShardOutcome outcome = new ShardOutcome();
+        outcome.known.addAll(knownEvents);
+        outcome.registered.addAll(registeredEvents);
+        outcome.seated.addAll(seated);
+        return outcome;
+    }
+
+    /**
+     * Copies the users that live in another shard into the given shard, which the current transaction is bound to,
+     * so that they can be registered for its events. Users of that shard, and unknown users, are left alone.
+     * Without sharding every user is in the one shard, so this does nothing.
+     */
+    private void copyUsersToShard(List<UUID> userIds, String shard) {
+        Map<String, List<UUID>> foreign = directory.locateUsers(userIds).entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(shard))
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        foreign.forEach((home, ids) -> {
+            List<User> users = shards.inTransaction(home, true, () -> {
+                List<User> found = new ArrayList<>();
+                for (int i = 0; i < ids.size(); i += LOOKUP_BATCH_SIZE) {
+                    found.addAll(userRepository.findAllById(ids.subList(i, Math.min(i + LOOKUP_BATCH_SIZE, ids.size()))));
+                }
+                return found;
+            });
+            users.forEach(user -> userRepository.upsertCopy(user.getId(), user.getUsername(), user.getProgram(),
+                    user.getEmail(), user.getLocation().getId(), user.getCollege().getId()));
+            TransactionUtil.afterCommit(() -> userCopies.increment(users.size()));
+        });
+    }
+
+    /**
+     * Parses the requested IDs, keeping request order; malformed IDs map to null and are reported as unknown.
+     */
+    private static Map<String, UUID> parseIds(Set<String> ids) {
+        Map<String, UUID> parsed = new LinkedHashMap<>();
+        ids.forEach(id -> parsed.put(id, UUIDutil.parse(id)));
+        return parsed;
+    }
+
+    /**
+     * The distinct well-formed IDs, in request order.
+     */
+    private static List<UUID> wellFormed(Map<String, UUID> ids) {
+        return ids.values().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private BulkRegistrationResultDTO toResult(String eventId, String userId, Result unknown,
+                                               boolean alreadyRegistered, boolean seated) {
+        if (unknown != null) {
+            return new BulkRegistrationResultDTO(eventId, userId, unknown, null);
+        }
+        if (alreadyRegistered) {
+            return new BulkRegistrationResultDTO(eventId, userId, Result.ALREADY_REGISTERED, null);
+        }
+        return new BulkRegistrationResultDTO(eventId, userId, Result.CREATED,
+                seated ? EventRegistration.Status.REGISTERED : EventRegistration.Status.WAITLISTED);
+    }
+
+    /**
+     * Runs an IN query over the IDs in chunks of {@value #LOOKUP_BATCH_SIZE} and collects the results.
+     */
+    private Set<UUID> inBatches(Collection<UUID> ids, Function<List<UUID>, List<UUID>> query) {
+        List<UUID> all = new ArrayList<>(ids);
+        Set<UUID> found = new HashSet<>();
+        for (int i = 0; i < all.size(); i += LOOKUP_BATCH_SIZE) {
+            found.addAll(query.apply(all.subList(i, Math.min(i + LOOKUP_BATCH_SIZE, all.size()))));
+        }
+        return found;
+    }
+
+    /**
+     * Persists one registration per ID, flushing every {@value #INSERT_BATCH_SIZE} rows so that each flush
+     * becomes one JDBC batch, and clearing the persistence context so memory stays flat.
+     */
+    private void insertInBatches(List<UUID> ids, Function<UUID, EventRegistration> factory) {
+        for (int i = 0; i < ids.size(); i += INSERT_BATCH_SIZE) {
+            List<EventRegistration> batch = ids.subList(i, Math.min(i + INSERT_BATCH_SIZE, ids.size()))
+                    .stream()
+                    .map(factory)
+                    .collect(Collectors.toList());
+            registrationRepository.saveAll(batch);
+            registrationRepository.flush();
+            entityManager.clear();
+        }
+    }
+
     /**
      * Unregisters a user from an event.
+     * If the user held a seat, the seat goes to the head of the waitlist in the same transaction.
      *
      * @param eventId the ID of the event
      * @param userId the ID of the user to unregister
      * @throws BusinessException if the input is invalid or the registration is not found
      */
+    @Transactional
     public void unregisterForEvent(String eventId, String userId) {
         // Validate input
         if (eventId == null || eventId.trim().isEmpty()) {
@@ -93,12 +424,89 @@ public class EventRegistrationService {
             throw new BusinessException(ErrorCode.VALIDATION_ERROR);
         }
 
+        UUID eventUuid = UUIDutil.parse(eventId);
+        UUID userUuid = UUIDutil.parse(userId);
+        if (eventUuid == null || userUuid == null) {
+            throw new BusinessException(ErrorCode.REGISTRATION_NOT_FOUND);
+        }
+        shards.bind(directory.locateEvent(eventUuid)
+                .orElseThrow(() -> new BusinessException(ErrorCode.REGISTRATION_NOT_FOUND)));
+
+        // Lock the event before touching its registrations, like registering does: a registration that is
+        // waitlisting a user right now has to commit first, so the waitlist is complete when the seat is handed over
+        eventRepository.lockEvent(eventUuid)
+                .orElseThrow(() -> new BusinessException(ErrorCode.REGISTRATION_NOT_FOUND));
+
         // Find the registration
-        EventRegistration registration = registrationRepository.findByEventIdAndUserId(eventId, userId)
+        EventRegistration registration = registrationRepository.findByEventIdAndUserId(eventUuid, userUuid)
                 .orElseThrow(() -> new BusinessException(ErrorCode.REGISTRATION_NOT_FOUND));
 
         // Delete the registration
         registrationRepository.delete(registration);
+        eventDetailCache.evict(eventUuid);
+
+        TransactionUtil.afterCommit(unregistrations::increment);
+
+        if (registration.getStatus() == EventRegistration.Status.REGISTERED) {
+            // Hand the freed seat to the next waitlisted user, or give it back to the event
+            if (registrationRepository.handOverSeat(eventUuid) != null) {
+                TransactionUtil.afterCommit(promotions::increment);
+                eventStream.registrationsChanged(eventUuid, 0, -1);
+            } else {
+                eventStream.registrationsChanged(eventUuid, -1, 0);
+            }
+        } else {
+            eventStream.registrationsChanged(eventUuid, 0, -1);
+            // The event row is not written otherwise, but its registrations changed
+            eventRepository.trackChange(eventUuid);
+        }
+    }
+
+    /**
+     * Moves waitlisted users onto free seats, e.g. after an event's capacity was raised.
+     * Joins the caller's transaction, so the promotions commit together with the capacity change.
+     *
+     * @param eventId the ID of the event
+     * @return the number of users promoted
+     */
+    @Transactional
+    public int promoteFromWaitlist(UUID eventId) {
+        int promoted = 0;
+        while (eventRepository.reserveSeat(eventId) == 1) {
+            EventRegistration next = registrationRepository.findNextWaitlisted(eventId).orElse(null);
+            if (next == null) {
+                eventRepository.releaseSeat(eventId);
+                break;
+            }
+            next.setStatus(EventRegistration.Status.REGISTERED);
+            // Flush so the next findNextWaitlisted no longer sees this registration as waitlisted
+            registrationRepository.flush();
+            promoted++;
+        }
+        if (promoted > 0) {
+            eventDetailCache.evict(eventId);
+            eventStream.registrationsChanged(eventId, promoted, -promoted);
+        }
+        int count = promoted;
+        TransactionUtil.afterCommit(() -> promotions.increment(count));
+        return promoted;
+    }
+
+    /**
+     * Counts new registrations once the transaction has committed.
+     * Published as nuboard.registrations, tagged with the status (registered or waitlisted)
+     * and the source (single or bulk).
+     */
+    private void countRegistrations(EventRegistration.Status status, String source, long count) {
+        if (count == 0) {
+            return;
+        }
+        Counter counter = Counter.builder("nuboard.registrations")
+                .description("Registrations created")
+                .tag("status", status.name().toLowerCase())
+                .tag("source", source)
+                .register(meterRegistry);
+        TransactionUtil.afterCommit(() -> counter.increment(count));
     }
 
     /**
@@ -108,11 +516,18 @@ public class EventRegistrationService {
      * @return a list of {@link EventRegistrationDTO} containing the registration details
      * @throws BusinessException if the event ID is invalid
      */
+    @Transactional(readOnly = true)
     public List<EventRegistrationDTO> getRegistrationsByEventId(String eventId) {
         if (eventId == null || eventId.trim().isEmpty()) {
             throw new BusinessException(ErrorCode.VALIDATION_ERROR);
         }
-        return registrationRepository.findByEventId(eventId)
+        UUID eventUuid = UUIDutil.parse(eventId);
+        String shard = eventUuid == null ? null : directory.locateEvent(eventUuid).orElse(null);
+        if (shard == null) {
+            return List.of();
+        }
+        shards.bind(shard);
+        return registrationRepository.findByEventId(eventUuid)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -120,19 +535,25 @@ public class EventRegistrationService {
 
     /**
      * Retrieves all registrations for a specific user.
+     * With sharding, they are gathered from every shard, as the user may have registered on several campuses.
      *
      * @param userId the ID of the user
      * @return a list of {@link EventRegistrationDTO} containing the registration details
      * @throws BusinessException if the user ID is invalid
      */
+    @Transactional(readOnly = true)
     public List<EventRegistrationDTO> getRegistrationsByUserId(String userId) {
         if (userId == null || userId.trim().isEmpty()) {
             throw new BusinessException(ErrorCode.VALIDATION_ERROR);
         }
-        return registrationRepository.findByUserId(userId)
+        UUID userUuid = UUIDutil.parse(userId);
+        if (userUuid == null) {
+            return List.of();
+        }
+        return shards.gather(shard -> registrationRepository.findByUserId(userUuid)
                 .stream()
                 .map(this::mapToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), REGISTRATION_ORDER);
     }
 
     /**
@@ -140,11 +561,12 @@ public class EventRegistrationService {
      *
      * @return a list of {@link EventRegistrationDTO} containing all registration details
      */
+    @Transactional(readOnly = true)
     public List<EventRegistrationDTO> getAllRegistrations() {
-        return registrationRepository.findAll()
+        return shards.gather(shard -> registrationRepository.findAll()
                 .stream()
                 .map(this::mapToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), REGISTRATION_ORDER);
     }
 
     /**
@@ -156,8 +578,24 @@ public class EventRegistrationService {
     private EventRegistrationDTO mapToDTO(EventRegistration registration) {
         return new EventRegistrationDTO(
                 registration.getId(),
-                registration.getEvent().getId(),
-                registration.getUser().getId().toString()
+                registration.getEvent().getId().toString(),
+                registration.getUser().getId().toString(),
+                registration.getStatus()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * What happened to the events of one user's bulk registration, collected over the shards.
+     */
+    private static final class ShardOutcome {
+        private final Set<UUID> known = new HashSet<>();
+        private final Set<UUID> registered = new HashSet<>();
+        private final Set<UUID> seated = new HashSet<>();
+
+        private void add(ShardOutcome other) {
+            known.addAll(other.known);
+            registered.addAll(other.registered);
+            seated.addAll(other.seated);
+        }
+    }
+}
@@ -1,120 +1,529 @@
 package com.neu.nuboard.service;
 
+import com.neu.nuboard.datasource.ShardRouter;
+import com.neu.nuboard.dto.EventChangesDTO;
 import com.neu.nuboard.dto.EventCreateDTO;
+import com.neu.nuboard.dto.EventPageDTO;
 import com.neu.nuboard.dto.EventResponseDTO;
 import com.neu.nuboard.dto.EventRegistrationDTO;
 import com.neu.nuboard.exception.*;
 import com.neu.nuboard.model.Event;
 import com.neu.nuboard.model.Location;
+import com.neu.nuboard.repository.EventRegistrationRepository;
 import com.neu.nuboard.repository.EventRepository;
-import com.neu.nuboard.repository.LocationRepository;
+import com.neu.nuboard.repository.EventRepository.ChangeRow;
+import com.neu.nuboard.repository.EventRepository.SearchHit;
+import com.neu.nuboard.utils.EventCursor;
+import com.neu.nuboard.utils.SyncToken;
+import com.neu.nuboard.utils.UUIDutil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Service class for managing event-related business logic.
  */
 @Service
 public class EventService {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_PAGE_SIZE = 50;
+    static final int MAX_WINDOW_SIZE = 100;
+    private static final int MAX_SEARCH_TERMS = 8;
+    // Keeps the registration IN list well below PostgreSQL's bind parameter limit.
+    private static final int REGISTRATION_BATCH_SIZE = 1000;
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    // The order of the event lists, so that the results of several shards merge like one database's.
+    // IDs compare as strings: lowercase hex sorts like PostgreSQL's uuid ordering, UUID.compareTo does not.
+    static final Comparator<EventResponseDTO> EVENT_ORDER = Comparator
+            .comparing(EventResponseDTO::getStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(EventResponseDTO::getId);
+    private static final Comparator<RankedEvent> SEARCH_ORDER = Comparator
+            .comparingDouble((RankedEvent ranked) -> ranked.rank).reversed()
+            .thenComparing(ranked -> ranked.event, EVENT_ORDER);
+
     private final EventRepository eventRepository;
-    private final LocationRepository locationRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final ReferenceDataRegistry referenceData;
+    private final EventRegistrationService registrationService;
+    private final EventDetailCache eventDetailCache;
+    private final EventStreamService eventStream;
+    private final ShardRouter shards;
+    private final ShardDirectory directory;
+    // How long deletions are kept for the change feed; older sync tokens must fetch all events again
+    private final Duration tombstoneRetention;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public EventService(EventRepository eventRepository, LocationRepository locationRepository) {
+    public EventService(EventRepository eventRepository,
+                        EventRegistrationRepository registrationRepository,
+                        ReferenceDataRegistry referenceData,
+                        EventRegistrationService registrationService,
+                        EventDetailCache eventDetailCache,
+                        EventStreamService eventStream,
+                        ShardRouter shards,
+                        ShardDirectory directory,
+                        @Value("${nuboard.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
         this.eventRepository = eventRepository;
-        this.locationRepository = locationRepository;
+        this.registrationRepository = registrationRepository;
+        this.referenceData = referenceData;
+        this.registrationService = registrationService;
+        this.eventDetailCache = eventDetailCache;
+        this.eventStream = eventStream;
+        this.shards = shards;
+        this.directory = directory;
+        this.tombstoneRetention = tombstoneRetention;
     }
 
     /**
      * Creates a new event based on the provided EventCreateDTO.
+     * The event is stored in the shard of its location.
      * @param eventCreateDTO The DTO containing event details.
      * @return EventResponseDTO containing the saved event details.
      */
     public EventResponseDTO createEvent(EventCreateDTO eventCreateDTO) {
-        // Find the location by ID
-        Location location = locationRepository.findById(eventCreateDTO.getLocationId())
+        // Find the location by ID (served from memory)
+        Location location = referenceData.findLocation(eventCreateDTO.getLocationId())
             .orElseThrow(() -> new BusinessException(ErrorCode.EVENT_INVALID_LOCATION));
 
         // Create event using factory method
         Event event = Event.fromDTO(eventCreateDTO);
         event.setLocation(location);
 
-        // Save the event to the database
-        Event savedEvent = eventRepository.save(event);
+        // Save the event to the database of its campus
+        String shard = shards.shardForLocation(location.getId());
+        Event savedEvent = shards.inTransaction(shard, false, () -> eventRepository.save(event));
+        directory.eventCreated(savedEvent.getId(), shard);
 
-        // Map saved Event to EventResponseDTO
-        return mapToResponseDTO(savedEvent);
+        // A new event has no registrations yet, so there is nothing to load
+        EventResponseDTO responseDTO = mapToResponseDTO(savedEvent, new HashSet<>());
+        eventStream.eventCreated(responseDTO);
+        return responseDTO;
     }
 
     /**
      * Retrieves all events from the database.
+     * With sharding, every shard is read in parallel and the events are merged by start time, then ID.
      * @return List of EventResponseDTO containing all event details.
      */
+    @Transactional(readOnly = true)
     public List<EventResponseDTO> getAllEvents() {
-        return eventRepository.findAll()
-                .stream()
-                .map(this::mapToResponseDTO)
+        return shards.gather(shard -> mapToResponseDTOs(eventRepository.findAll()), EVENT_ORDER);
+    }
+
+    /**
+     * Retrieves one event with its registrations.
+     * Served from {@link EventDetailCache}; the database is only read on a miss.
+     * Not read-only, so a miss never refills the cache from a replica that has not seen the write that evicted it.
+     * @param id The ID of the event.
+     * @return EventResponseDTO containing the event details.
+     */
+    @Transactional
+    public EventResponseDTO getEventById(String id) {
+        UUID eventId = parseEventId(id);
+        EventResponseDTO event = eventDetailCache.get(eventId, key -> directory.locateEvent(key)
+                .flatMap(shard -> {
+                    shards.bind(shard);
+                    return eventRepository.findById(key);
+                })
+                .map(found -> mapToResponseDTOs(List.of(found)).get(0))
+                .orElse(null));
+        if (event == null) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        return event;
+    }
+
+    /**
+     * Retrieves one page of events ordered by start time, then ID.
+     * Uses keyset pagination, so the cost of a page does not depend on how deep into the list it is.
+     * With sharding, each shard of the location (every shard without one) returns its next page after the cursor,
+     * and the first rows of the merged pages form the page.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The page size, between 1 and {@value #MAX_PAGE_SIZE}.
+     * @param locationId Only events at this location, or null for all locations.
+     * @param organizerType Only events of this organizer type, or null for all types.
+     * @param from Only events starting at or after this time (yyyy-MM-dd'T'HH:mm:ss), or null.
+     * @param to Only events starting before this time (yyyy-MM-dd'T'HH:mm:ss), or null.
+     * @return EventPageDTO containing the page and the cursor for the next one.
+     */
+    @Transactional(readOnly = true)
+    public EventPageDTO getEventPage(String cursor, int limit, Long locationId,
+                                     String organizerType, String from, String to) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_PAGE_SIZE);
+        }
+        EventCursor after = (cursor == null || cursor.isEmpty()) ? null : EventCursor.decode(cursor);
+        Event.OrganizerType type = parseOrganizerType(organizerType);
+        LocalDateTime fromTime = parseTime(from);
+        LocalDateTime toTime = parseTime(to);
+
+        // Fetch one extra row to learn whether another page exists without a count query.
+        List<EventResponseDTO> events = shards.gather(shards.shardsForLocation(locationId),
+                shard -> mapToResponseDTOs(eventRepository.findEventPage(locationId, type, fromTime, toTime, after, limit + 1)),
+                EVENT_ORDER, limit + 1);
+        String nextCursor = null;
+        if (events.size() > limit) {
+            events = events.subList(0, limit);
+            EventResponseDTO last = events.get(limit - 1);
+            nextCursor = new EventCursor(last.getStartTime(), UUID.fromString(last.getId())).encode();
+        }
+
+        return new EventPageDTO(events, nextCursor);
+    }
+
+    /**
+     * Retrieves the events starting within a time window, earliest first.
+     * Runs as one range scan over the (location, start_time) or (organizer_type, start_time) index
+     * when the matching filter is set, and stops after limit rows.
+     * @param from Only events starting at or after this time (yyyy-MM-dd'T'HH:mm:ss), required.
+     * @param to Only events starting before this time (yyyy-MM-dd'T'HH:mm:ss), required.
+     * @param locationId Only events at this location, or null for all locations.
+     * @param organizerType Only events of this organizer type, or null for all types.
+     * @param limit The maximum number of events, between 1 and {@value #MAX_WINDOW_SIZE}.
+     * @return List of EventResponseDTO ordered by start time, then ID.
+     */
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> getEventsInWindow(String from, String to, Long locationId,
+                                                    String organizerType, int limit) {
+        LocalDateTime fromTime = parseTime(from);
+        LocalDateTime toTime = parseTime(to);
+        if (fromTime == null || toTime == null || !fromTime.isBefore(toTime)) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
+        }
+        return findEventsInWindow(fromTime, toTime, locationId, organizerType, limit);
+    }
+
+    /**
+     * Retrieves the next events that have not started yet, earliest first.
+     * @param locationId Only events at this location, or null for all locations.
+     * @param organizerType Only events of this organizer type, or null for all types.
+     * @param to Only events starting before this time (yyyy-MM-dd'T'HH:mm:ss), or null for no upper bound.
+     * @param limit The maximum number of events, between 1 and {@value #MAX_WINDOW_SIZE}.
+     * @return List of EventResponseDTO ordered by start time, then ID.
+     */
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> getUpcomingEvents(Long locationId, String organizerType, String to, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime toTime = parseTime(to);
+        if (toTime != null && !now.isBefore(toTime)) {
+            return new ArrayList<>();
+        }
+        return findEventsInWindow(now, toTime, locationId, organizerType, limit);
+    }
+
+    private List<EventResponseDTO> findEventsInWindow(LocalDateTime from, LocalDateTime to, Long locationId,
+                                                      String organizerType, int limit) {
+        if (limit < 1 || limit > MAX_WINDOW_SIZE) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_PAGE_SIZE);
+        }
+        Event.OrganizerType type = parseOrganizerType(organizerType);
+        return shards.gather(shards.shardsForLocation(locationId),
+                shard -> mapToResponseDTOs(eventRepository.findEventPage(locationId, type, from, to, null, limit)),
+                EVENT_ORDER, limit);
+    }
+
+    /**
+     * Retrieves the events created, updated or deleted since a sync token, in change order.
+     * Registration changes count as a change of their event. Without a token every event is returned,
+     * which is how a client starts syncing. A client keeps requesting with nextToken while hasMore is true.
+     * See {@link SyncToken} for why a change can be returned more than once.
+     * Deliberately not read-only, so it never runs on a read replica: the pages of one sync could come from replicas
+     * at different replay positions, and rows one of them had not replayed yet would fall below the next floor.
+     * For the same reason it is not available with sharding: every shard has its own change sequence and transaction IDs.
+     * @param since The nextToken of the previous response, or null to start from scratch.
+     * @param limit The maximum number of changes, between 1 and {@value #MAX_PAGE_SIZE}.
+     * @return EventChangesDTO containing the changed events, the deleted IDs and the next token.
+     */
+    @Transactional
+    public EventChangesDTO getChanges(String since, int limit) {
+        if (shards.isEnabled()) {
+            throw new BusinessException(ErrorCode.EVENT_SYNC_NOT_SHARDED);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_PAGE_SIZE);
+        }
+        long now = Instant.now().getEpochSecond();
+        SyncToken token = (since == null || since.isEmpty()) ? new SyncToken(0, 0, 0, now) : SyncToken.decode(since);
+        if (token.getIssuedAt() < now - tombstoneRetention.getSeconds()) {
+            // Deletions since then may already have been purged
+            throw new BusinessException(ErrorCode.EVENT_SYNC_TOKEN_EXPIRED);
+        }
+        // The floor of the next sync is captured before reading, and kept across the pages of this sync
+        boolean continuing = token.getHorizon() != 0;
+        long horizon = continuing ? token.getHorizon() : eventRepository.findChangeHorizon();
+        long issuedAt = continuing ? token.getIssuedAt() : now;
+
+        // One extra row from each table tells whether another page exists
+        List<ChangeRow> changedRows = eventRepository.findChangedSince(token.getFloor(), token.getAfter(), limit + 1);
+        List<ChangeRow> deletedRows = eventRepository.findDeletedSince(token.getFloor(), token.getAfter(), limit + 1);
+        // Both tables share one sequence, so the first limit changes of the two end at a single cut-off
+        List<Long> sequence = new ArrayList<>();
+        changedRows.forEach(row -> sequence.add(row.getChangeSeq()));
+        deletedRows.forEach(row -> sequence.add(row.getChangeSeq()));
+        sequence.sort(Comparator.naturalOrder());
+        boolean hasMore = sequence.size() > limit;
+        long last = hasMore ? sequence.get(limit - 1) : Long.MAX_VALUE;
+
+        List<UUID> changedIds = changedRows.stream()
+                .filter(row -> row.getChangeSeq() <= last)
+                .map(ChangeRow::getId)
                 .collect(Collectors.toList());
+        List<String> deletedIds = deletedRows.stream()
+                .filter(row -> row.getChangeSeq() <= last)
+                .map(row -> row.getId().toString())
+                .collect(Collectors.toList());
+        Map<UUID, Event> events = eventRepository.findAllById(changedIds).stream()
+                .collect(Collectors.toMap(Event::getId, event -> event));
+        // An event deleted since the first query is skipped; its tombstone is returned by the next sync
+        List<Event> changed = changedIds.stream()
+                .map(events::get)
+                .filter(event -> event != null)
+                .collect(Collectors.toList());
+
+        SyncToken next = hasMore
+                ? new SyncToken(token.getFloor(), last, horizon, issuedAt)
+                : new SyncToken(horizon, 0, 0, issuedAt);
+        return new EventChangesDTO(mapToResponseDTOs(changed), deletedIds, next.encode(), hasMore);
     }
 
     /**
-     * Searches events by keyword in title or description.
-     * @param keyword The search keyword.
+     * Removes tombstones older than the sync token lifetime, with a day of margin for long transactions, in every shard.
+     */
+    @Scheduled(fixedDelayString = "${nuboard.sync.tombstone-purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        LocalDateTime before = LocalDateTime.now().minus(tombstoneRetention).minusDays(1);
+        shards.onEveryShard(false, shard -> eventRepository.deleteTombstonesBefore(before));
+    }
+
+    /**
+     * Searches events by keywords in title or description, best match first.
+     * Every term must match, and each term also matches as a prefix ("car fa" finds "Career Fair").
+     * With sharding, every shard returns its best matches up to the end of the page, which are merged by relevance;
+     * ts_rank only depends on the event itself, so the ranks of different shards compare.
+     * @param keyword The search keywords, separated by spaces or punctuation.
+     * @param page The zero-based page number.
+     * @param size The page size, between 1 and {@value #MAX_SEARCH_PAGE_SIZE}.
      * @return List of EventResponseDTO containing matching events.
      */
-    public List<EventResponseDTO> searchEvents(String keyword) {
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> searchEvents(String keyword, int page, int size) {
         if (keyword == null || keyword.trim().isEmpty()) {
             throw new BusinessException(ErrorCode.EVENT_INVALID_TITLE);
         }
-        return eventRepository.searchEvents(keyword.trim())
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_PAGE_SIZE);
+        }
+        if (page < 0) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR);
+        }
+        String tsQuery = toPrefixTsQuery(keyword);
+        if (!shards.isEnabled()) {
+            return mapToResponseDTOs(eventRepository.searchEvents(tsQuery, size, page * size));
+        }
+        int end = (page + 1) * size;
+        return shards.gather(shards.getShards(), shard -> searchShard(tsQuery, end), SEARCH_ORDER, end)
+                .stream()
+                .skip((long) page * size)
+                .map(ranked -> ranked.event)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The best matches of the current shard with their relevance, best match first.
+     */
+    private List<RankedEvent> searchShard(String tsQuery, int limit) {
+        List<SearchHit> hits = eventRepository.searchEventHits(tsQuery, limit);
+        Map<UUID, Event> events = eventRepository.findAllById(hits.stream().map(SearchHit::getId).collect(Collectors.toList()))
                 .stream()
-                .map(this::mapToResponseDTO)
+                .collect(Collectors.toMap(Event::getId, event -> event));
+        Map<String, Double> ranks = new HashMap<>();
+        hits.forEach(hit -> ranks.put(hit.getId().toString(), hit.getRank()));
+        List<Event> found = hits.stream()
+                .map(hit -> events.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return mapToResponseDTOs(found).stream()
+                .map(event -> new RankedEvent(event, ranks.get(event.getId())))
                 .collect(Collectors.toList());
     }
 
     /**
      * Updates an existing event.
+     * Raising the capacity promotes waitlisted users onto the new seats;
+     * the capacity cannot be lowered below the number of seats already taken.
+     * With sharding, the event cannot be moved to a location in another shard, as its registrations would have to move too.
      * @param id The ID of the event to update.
      * @param eventCreateDTO The DTO containing updated event details.
      * @return EventResponseDTO containing the updated event details.
      */
+    @Transactional
     public EventResponseDTO updateEvent(String id, EventCreateDTO eventCreateDTO) {
-        Event existingEvent = eventRepository.findById(id)
+        UUID eventId = parseEventId(id);
+        String shard = directory.locateEvent(eventId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.EVENT_NOT_FOUND));
+        shards.bind(shard);
+        Event existingEvent = eventRepository.findById(eventId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.EVENT_NOT_FOUND));
 
-        // Find the location by ID
-        Location location = locationRepository.findById(eventCreateDTO.getLocationId())
+        // Find the location by ID (served from memory)
+        Location location = referenceData.findLocation(eventCreateDTO.getLocationId())
             .orElseThrow(() -> new BusinessException(ErrorCode.EVENT_INVALID_LOCATION));
+        if (!shards.shardForLocation(location.getId()).equals(shard)) {
+            throw new BusinessException(ErrorCode.EVENT_LOCATION_OTHER_SHARD);
+        }
+
+        Integer oldCapacity = existingEvent.getCapacity();
+        Integer newCapacity = eventCreateDTO.getCapacity();
+        if (newCapacity != null && newCapacity < existingEvent.getRegisteredCount()) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_CAPACITY);
+        }
+        boolean capacityRaised = oldCapacity != null && (newCapacity == null || newCapacity > oldCapacity);
+        eventDetailCache.evict(eventId);
 
         // Update event using the update method
         existingEvent.updateFromDTO(eventCreateDTO);
         existingEvent.setLocation(location);
 
-        Event updatedEvent = eventRepository.save(existingEvent);
-        return mapToResponseDTO(updatedEvent);
+        // Flush so the seat UPDATEs below already see the new capacity
+        Event updatedEvent = eventRepository.saveAndFlush(existingEvent);
+        eventRepository.trackChange(eventId);
+        if (capacityRaised && registrationService.promoteFromWaitlist(eventId) > 0) {
+            // registered_count was changed by SQL, re-read it for the response
+            entityManager.refresh(updatedEvent);
+        }
+        EventResponseDTO responseDTO = mapToResponseDTOs(List.of(updatedEvent)).get(0);
+        eventStream.eventUpdated(responseDTO);
+        return responseDTO;
     }
 
     /**
      * Deletes an event.
      * @param id The ID of the event to delete.
      */
+    @Transactional
     public void deleteEvent(String id) {
-        Event event = eventRepository.findById(id)
+        UUID eventId = parseEventId(id);
+        shards.bind(directory.locateEvent(eventId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.EVENT_NOT_FOUND)));
+        Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.EVENT_NOT_FOUND));
 
-        // Delete the event directly
-        eventRepository.deleteById(id);
+        // Delete the loaded event, cascading to its registrations
+        eventRepository.delete(event);
+        eventRepository.insertTombstone(eventId);
+        eventDetailCache.evict(eventId);
+        directory.eventDeleted(eventId);
+        eventStream.eventDeleted(eventId);
+    }
+
+    /**
+     * Parses an event ID from the API; a malformed ID cannot belong to any event.
+     */
+    static UUID parseEventId(String id) {
+        UUID eventId = UUIDutil.parse(id);
+        if (eventId == null) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        return eventId;
+    }
+
+    /**
+     * Builds a to_tsquery expression that ANDs the keywords together as prefix matches.
+     * Everything except letters and digits is dropped, so user input can never
+     * produce tsquery syntax errors.
+     */
+    private String toPrefixTsQuery(String keyword) {
+        String tsQuery = Arrays.stream(keyword.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        if (tsQuery.isEmpty()) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_TITLE);
+        }
+        return tsQuery;
+    }
+
+    private Event.OrganizerType parseOrganizerType(String organizerType) {
+        if (organizerType == null || organizerType.isEmpty()) {
+            return null;
+        }
+        try {
+            return Event.OrganizerType.valueOf(organizerType);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_ORGANIZER);
+        }
+    }
+
+    static LocalDateTime parseTime(String time) {
+        if (time == null || time.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(time, formatter);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_TIME);
+        }
+    }
+
+    /**
+     * Maps Event entities to EventResponseDTOs.
+     * Registrations are read with one projection query per {@value #REGISTRATION_BATCH_SIZE} events
+     * instead of initializing each event's lazy registrations collection,
+     * so the number of statements does not grow with the number of events.
+     * @param events The Event entities to map.
+     * @return EventResponseDTOs in the same order as the given events.
+     */
+    private List<EventResponseDTO> mapToResponseDTOs(List<Event> events) {
+        Map<String, Set<EventRegistrationDTO>> registrationsByEvent = new HashMap<>();
+        List<UUID> eventIds = new ArrayList<>(events.size());
+        for (Event event : events) {
+            registrationsByEvent.put(event.getId().toString(), new HashSet<>());
+            eventIds.add(event.getId());
+        }
+
+        for (int i = 0; i < eventIds.size(); i += REGISTRATION_BATCH_SIZE) {
+            List<UUID> batch = eventIds.subList(i, Math.min(i + REGISTRATION_BATCH_SIZE, eventIds.size()));
+            for (EventRegistrationDTO registration : registrationRepository.findDTOsByEventIdIn(batch)) {
+                registrationsByEvent.get(registration.getEventId()).add(registration);
+            }
+        }
+
+        return events.stream()
+                .map(event -> mapToResponseDTO(event, registrationsByEvent.get(event.getId().toString())))
+                .collect(Collectors.toList());
     }
 
     /**
      * Maps an Event entity to an EventResponseDTO.
      * @param event The Event entity to map.
+     * @param registrations The event's registrations, already loaded.
      * @return EventResponseDTO containing the event details.
      */
-    private EventResponseDTO mapToResponseDTO(Event event) {
+    // Package-private so EventServiceBenchmark (src/jmh) can measure it.
+    EventResponseDTO mapToResponseDTO(Event event, Set<EventRegistrationDTO> registrations) {
         EventResponseDTO responseDTO = new EventResponseDTO();
-        responseDTO.setId(event.getId());
+        responseDTO.setId(event.getId().toString());
         responseDTO.setTitle(event.getTitle());
         responseDTO.setDescription(event.getDescription());
         responseDTO.setStartTime(event.getStartTime());
@@ -123,17 +532,22 @@ public class EventService {
         responseDTO.setAddress(event.getAddress());
         responseDTO.setCreatorId(event.getCreatorId());
         responseDTO.setOrganizerType(event.getOrganizerType());
+        responseDTO.setCapacity(event.getCapacity());
+        responseDTO.setRegisteredCount(event.getRegisteredCount());
+        responseDTO.setRegistrations(registrations);
+        return responseDTO;
+    }
 
-        // Map registrations to DTOs
-        Set<EventRegistrationDTO> registrationDTOs = event.getRegistrations().stream()
-            .map(registration -> new EventRegistrationDTO(
-                registration.getId(),
-                registration.getEvent().getId(),
-                registration.getUser().getId().toString()
-            ))
-            .collect(Collectors.toSet());
-        responseDTO.setRegistrations(registrationDTOs);
+    /**
+     * A search match with its relevance, for merging the matches of several shards.
+     */
+    private static final class RankedEvent {
+        private final EventResponseDTO event;
+        private final double rank;
 
-        return responseDTO;
+        private RankedEvent(EventResponseDTO event, double rank) {
+            this.event = event;
+            this.rank = rank;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,454 @@
+package com.neu.nuboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neu.nuboard.dto.EventNotificationDTO;
+import com.neu.nuboard.dto.EventNotificationDTO.Type;
+import com.neu.nuboard.dto.EventResponseDTO;
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import com.neu.nuboard.utils.MpscRingBuffer;
+import com.neu.nuboard.utils.TransactionUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Live event stream (GET /api/events/stream) over Server-Sent Events.
+ * <p>
+ * The write path only offers a notification to a lock-free inbox after its transaction commits, so it never
+ * waits for subscribers. One dispatcher thread drains the inbox, sums up registration changes per event into
+ * one message every coalesce interval, serializes each message once, and appends it to every subscriber's
+ * bounded queue. When a queue is full its oldest message is dropped. A small pool of sender threads writes the
+ * queues to the connections, one subscriber at a time, so a slow client only delays itself.
+ * An open stream holds a connection, not a request thread.
+ * <p>
+ * A client that blocks a send, or whose queue stays full, for longer than the send timeout is disconnected:
+ * it gets no more messages and its emitter is completed as soon as its sender thread is free again.
+ * While such a send is still blocked, the pool gets an extra thread in place of the one it holds,
+ * so stalled clients never starve the others.
+ */
+@Service
+public class EventStreamService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStreamService.class);
+
+    // How long the dispatcher sleeps when the inbox is empty
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int DISPATCH_BATCH_SIZE = 1024;
+    private static final Frame HEARTBEAT = new Frame(null, null);
+
+    private final ObjectMapper objectMapper;
+    private final MpscRingBuffer<EventNotificationDTO> inbox;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+    private final int subscriberBufferSize;
+    private final int maxSubscribers;
+    private final long subscriberTimeoutMillis;
+    private final long sendTimeoutNanos;
+    private final long coalesceNanos;
+    private final long heartbeatNanos;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    // Registration deltas per event ID waiting for the next coalesced message; dispatcher thread only
+    private final Map<String, int[]> pendingDeltas = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public EventStreamService(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${nuboard.stream.inbox-size:16384}") int inboxSize,
+                              @Value("${nuboard.stream.subscriber-buffer-size:256}") int subscriberBufferSize,
+                              @Value("${nuboard.stream.max-subscribers:5000}") int maxSubscribers,
+                              @Value("${nuboard.stream.sender-threads:8}") int senderThreads,
+                              @Value("${nuboard.stream.subscriber-timeout:30m}") Duration subscriberTimeout,
+                              @Value("${nuboard.stream.send-timeout:10s}") Duration sendTimeout,
+                              @Value("${nuboard.stream.coalesce-interval:1s}") Duration coalesceInterval,
+                              @Value("${nuboard.stream.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.objectMapper = objectMapper;
+        this.inbox = new MpscRingBuffer<>(inboxSize);
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberTimeoutMillis = subscriberTimeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.coalesceNanos = coalesceInterval.toNanos();
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        AtomicInteger senderCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "nuboard-sse-sender-" + senderCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("nuboard.stream.subscribers", subscribers, Set::size)
+                .description("Open event stream connections")
+                .register(meterRegistry);
+        FunctionCounter.builder("nuboard.stream.dropped", dropped, AtomicLong::get)
+                .description("Stream messages dropped because a buffer was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("nuboard.stream.evicted", evicted, AtomicLong::get)
+                .description("Stream connections closed because the client blocked a send or fell too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for one client.
+     * @return The emitter to return from the controller.
+     * @throws BusinessException if the node already serves the maximum number of subscribers.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessException(ErrorCode.STREAM_SUBSCRIBERS_EXCEEDED);
+        }
+        SseEmitter emitter = new SseEmitter(subscriberTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Announces a new event once the current transaction has committed.
+     * @param event The new event.
+     */
+    public void eventCreated(EventResponseDTO event) {
+        publish(new EventNotificationDTO(Type.CREATED, event.getId(), event, 0, 0));
+    }
+
+    /**
+     * Announces an updated event once the current transaction has committed.
+     * @param event The event after the update.
+     */
+    public void eventUpdated(EventResponseDTO event) {
+        publish(new EventNotificationDTO(Type.UPDATED, event.getId(), event, 0, 0));
+    }
+
+    /**
+     * Announces a deleted event once the current transaction has committed.
+     * @param eventId The ID of the deleted event.
+     */
+    public void eventDeleted(UUID eventId) {
+        publish(new EventNotificationDTO(Type.DELETED, eventId.toString(), null, 0, 0));
+    }
+
+    /**
+     * Announces registration changes of an event once the current transaction has committed.
+     * Changes of the same event are summed up and sent at most once per coalesce interval.
+     * @param eventId The ID of the event.
+     * @param registeredDelta Seats taken minus seats released.
+     * @param waitlistedDelta Users waitlisted minus users promoted or removed from the waitlist.
+     */
+    public void registrationsChanged(UUID eventId, int registeredDelta, int waitlistedDelta) {
+        if (registeredDelta == 0 && waitlistedDelta == 0) {
+            return;
+        }
+        publish(new EventNotificationDTO(Type.REGISTRATIONS, eventId.toString(), null, registeredDelta, waitlistedDelta));
+    }
+
+    private void publish(EventNotificationDTO notification) {
+        TransactionUtil.afterCommit(() -> {
+            if (!subscribers.isEmpty() && !inbox.offer(notification)) {
+                dropped.incrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dispatcher = new Thread(this::run, "nuboard-sse-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Closes all streams before the web server shuts down, so open connections do not hold up a graceful shutdown.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long nextFlush = System.nanoTime() + coalesceNanos;
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (running) {
+            int drained = inbox.drain(this::dispatch, DISPATCH_BATCH_SIZE);
+            long now = System.nanoTime();
+            if (now - nextFlush >= 0) {
+                flushDeltas();
+                evictStalled(now);
+                nextFlush = now + coalesceNanos;
+            }
+            if (now - nextHeartbeat >= 0) {
+                // Keeps proxies from closing idle streams and finds clients that went away
+                broadcast(HEARTBEAT);
+                nextHeartbeat = now + heartbeatNanos;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void dispatch(EventNotificationDTO notification) {
+        if (notification.getType() == Type.REGISTRATIONS) {
+            int[] deltas = pendingDeltas.computeIfAbsent(notification.getEventId(), id -> new int[2]);
+            deltas[0] += notification.getRegisteredDelta();
+            deltas[1] += notification.getWaitlistedDelta();
+            return;
+        }
+        if (notification.getType() == Type.DELETED) {
+            pendingDeltas.remove(notification.getEventId());
+        }
+        broadcast(toFrame(notification));
+    }
+
+    private void flushDeltas() {
+        pendingDeltas.forEach((eventId, deltas) -> {
+            if (deltas[0] != 0 || deltas[1] != 0) {
+                broadcast(toFrame(new EventNotificationDTO(Type.REGISTRATIONS, eventId, null, deltas[0], deltas[1])));
+            }
+        });
+        pendingDeltas.clear();
+    }
+
+    private void broadcast(Frame frame) {
+        if (frame == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    private void evictStalled(long now) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isStalled(now) && subscribers.remove(subscriber)) {
+                evicted.incrementAndGet();
+                log.debug("Disconnecting a stream subscriber that stopped reading");
+                subscriber.evict(now);
+            }
+        }
+    }
+
+    /**
+     * Adds or removes a sender thread, in place of one held by the blocked send of an evicted subscriber.
+     */
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            int size = senders.getCorePoolSize() + delta;
+            // The core size may never exceed the maximum size
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    // Serialized once, whatever the number of subscribers
+    private Frame toFrame(EventNotificationDTO notification) {
+        try {
+            return new Frame(notification.getType().name().toLowerCase(), objectMapper.writeValueAsString(notification));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize stream message for event {}", notification.getEventId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * One serialized message; a frame without a name is a heartbeat comment.
+     */
+    private static final class Frame {
+        private final String name;
+        private final String data;
+
+        private Frame(String name, String data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            return name == null ? SseEmitter.event().comment("") : SseEmitter.event().name(name).data(data);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+        // True while a sender thread owns this subscriber's queue
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // When the queue first overflowed since it was last empty, or 0; guarded by queue
+        private long fullSince;
+        // When the send in progress started, or 0; guarded by this
+        private long sendStarted;
+        // Set by the dispatcher; the sender thread completes the emitter
+        private volatile boolean evicted;
+        // Whether a sender thread was added in place of the one blocked in this subscriber's send; guarded by this
+        private boolean replaced;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Dispatcher thread only; never blocks on the connection
+        private void offer(Frame frame) {
+            synchronized (queue) {
+                if (queue.size() >= subscriberBufferSize) {
+                    queue.pollFirst();
+                    dropped.incrementAndGet();
+                    if (fullSince == 0) {
+                        fullSince = System.nanoTime();
+                    }
+                }
+                queue.addLast(frame);
+            }
+            schedule();
+        }
+
+        // Dispatcher thread only
+        private boolean isStalled(long now) {
+            synchronized (queue) {
+                if (fullSince != 0 && now - fullSince > sendTimeoutNanos) {
+                    return true;
+                }
+            }
+            synchronized (this) {
+                return sendStarted != 0 && now - sendStarted > sendTimeoutNanos;
+            }
+        }
+
+        // Dispatcher thread only, once the subscriber no longer receives frames
+        private void evict(long now) {
+            evicted = true;
+            synchronized (this) {
+                if (sendStarted != 0 && now - sendStarted > sendTimeoutNanos) {
+                    replaced = true;
+                    resizeSenders(1);
+                }
+            }
+            // Completes the emitter if no sender thread is on it
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    if (evicted) {
+                        emitter.complete();
+                        return;
+                    }
+                    Frame frame;
+                    synchronized (queue) {
+                        frame = queue.pollFirst();
+                        if (frame == null) {
+                            fullSince = 0;
+                        }
+                    }
+                    if (frame == null) {
+                        scheduled.set(false);
+                        // A frame offered, or an eviction, between the poll and the reset found scheduled still true;
+                        // take it over
+                        synchronized (queue) {
+                            if (queue.isEmpty() && !evicted) {
+                                return;
+                            }
+                        }
+                        if (!scheduled.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    synchronized (this) {
+                        sendStarted = System.nanoTime();
+                    }
+                    try {
+                        emitter.send(frame.toEvent());
+                    } finally {
+                        sendEnded();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed; the container cleans up the connection
+                scheduled.set(false);
+                subscribers.remove(this);
+            }
+        }
+
+        private synchronized void sendEnded() {
+            sendStarted = 0;
+            if (replaced) {
+                // This thread is free again; drop the one added in its place
+                replaced = false;
+                resizeSenders(-1);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.neu.nuboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.neu.nuboard.datasource.ShardRouter;
+import com.neu.nuboard.dto.EventExportDTO;
+import com.neu.nuboard.dto.RegistrationExportDTO;
+import com.neu.nuboard.dto.UserExportDTO;
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import com.neu.nuboard.repository.EventRegistrationRepository;
+import com.neu.nuboard.repository.EventRepository;
+import com.neu.nuboard.repository.UserRepository;
+import com.neu.nuboard.utils.UUIDutil;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting whole tables as NDJSON or CSV.
+ * Rows are read through a database cursor and written straight to the response one at a time,
+ * so memory use stays the same whether an export has a thousand rows or millions.
+ * With sharding the shards are exported one after the other, each in its own order.
+ */
+@Service
+public class ExportService {
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        /**
+         * Parses the format request parameter.
+         * @param value "ndjson" or "csv", case-insensitive.
+         * @return The format.
+         * @throws BusinessException if the value is not a supported format.
+         */
+        public static Format fromParam(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BusinessException(ErrorCode.INVALID_EXPORT_FORMAT);
+        }
+    }
+
+    // Large enough that the servlet output stream sees few, big writes.
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static final List<Column<EventExportDTO>> EVENT_COLUMNS = List.of(
+            new Column<>("id", EventExportDTO::getId),
+            new Column<>("title", EventExportDTO::getTitle),
+            new Column<>("description", EventExportDTO::getDescription),
+            new Column<>("startTime", EventExportDTO::getStartTime),
+            new Column<>("endTime", EventExportDTO::getEndTime),
+            new Column<>("locationId", EventExportDTO::getLocationId),
+            new Column<>("address", EventExportDTO::getAddress),
+            new Column<>("creatorId", EventExportDTO::getCreatorId),
+            new Column<>("organizerType", EventExportDTO::getOrganizerType),
+            new Column<>("capacity", EventExportDTO::getCapacity),
+            new Column<>("registeredCount", EventExportDTO::getRegisteredCount));
+
+    private static final List<Column<UserExportDTO>> USER_COLUMNS = List.of(
+            new Column<>("id", UserExportDTO::getId),
+            new Column<>("username", UserExportDTO::getUsername),
+            new Column<>("email", UserExportDTO::getEmail),
+            new Column<>("program", UserExportDTO::getProgram),
+            new Column<>("locationId", UserExportDTO::getLocationId),
+            new Column<>("collegeId", UserExportDTO::getCollegeId));
+
+    private static final List<Column<RegistrationExportDTO>> REGISTRATION_COLUMNS = List.of(
+            new Column<>("id", RegistrationExportDTO::getId),
+            new Column<>("eventId", RegistrationExportDTO::getEventId),
+            new Column<>("userId", RegistrationExportDTO::getUserId),
+            new Column<>("status", RegistrationExportDTO::getStatus),
+            new Column<>("createdAt", RegistrationExportDTO::getCreatedAt));
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shards;
+    private final ShardDirectory directory;
+
+    public ExportService(EventRepository eventRepository,
+                         UserRepository userRepository,
+                         EventRegistrationRepository registrationRepository,
+                         ObjectMapper objectMapper,
+                         ShardRouter shards,
+                         ShardDirectory directory) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.registrationRepository = registrationRepository;
+        this.objectMapper = objectMapper;
+        this.shards = shards;
+        this.directory = directory;
+    }
+
+    /**
+     * Exports all events.
+     * @param format The output format.
+     * @return A body that streams the events when the response is written.
+     */
+    public StreamingResponseBody exportEvents(Format format) {
+        return body(format, EventExportDTO.class, EVENT_COLUMNS, shards.getShards(), shard -> eventRepository.streamForExport());
+    }
+
+    /**
+     * Exports all users.
+     * Copies of users in other shards, made for cross-campus registrations, are skipped.
+     * @param format The output format.
+     * @return A body that streams the users when the response is written.
+     */
+    public StreamingResponseBody exportUsers(Format format) {
+        return body(format, UserExportDTO.class, USER_COLUMNS, shards.getShards(), shard -> userRepository.streamForExport()
+                .filter(user -> user.getLocationId() == null || shards.shardForLocation(user.getLocationId()).equals(shard)));
+    }
+
+    /**
+     * Exports the registrations of one event, or all registrations.
+     * The event is checked before anything is written, so an unknown event still gets a normal error response.
+     * @param format The output format.
+     * @param eventId The ID of the event, or null for all registrations.
+     * @return A body that streams the registrations when the response is written.
+     * @throws BusinessException if the event is not found.
+     */
+    public StreamingResponseBody exportRegistrations(Format format, String eventId) {
+        if (eventId == null || eventId.isEmpty()) {
+            return body(format, RegistrationExportDTO.class, REGISTRATION_COLUMNS, shards.getShards(),
+                    shard -> registrationRepository.streamForExport());
+        }
+        UUID eventUuid = UUIDutil.parse(eventId);
+        String shard = eventUuid == null ? null : directory.locateEvent(eventUuid).orElse(null);
+        if (shard == null || !shards.inTransaction(shard, true, () -> eventRepository.existsById(eventUuid))) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        return body(format, RegistrationExportDTO.class, REGISTRATION_COLUMNS, List.of(shard),
+                source -> registrationRepository.streamForExportByEventId(eventUuid));
+    }
+
+    /**
+     * Runs on the MVC async thread once the response headers are sent. The stream and the
+     * server-side cursor behind it need an open transaction for as long as rows are read,
+     * one transaction per shard.
+     */
+    private <T> StreamingResponseBody body(Format format, Class<T> type, List<Column<T>> columns,
+                                           List<String> sources, Function<String, Stream<T>> query) {
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            try {
+                if (format == Format.CSV) {
+                    writeCsvHeader(columns, writer);
+                }
+                for (String shard : sources) {
+                    shards.inTransaction(shard, true, () -> {
+                        try (Stream<T> rows = query.apply(shard)) {
+                            if (format == Format.CSV) {
+                                writeCsv(rows, columns, writer);
+                            } else {
+                                writeNdjson(rows, objectMapper.writerFor(type), writer);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return null;
+                    });
+                }
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; nothing more can be sent on this response
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, ObjectWriter jsonWriter, Writer writer) throws IOException {
+        for (T row : (Iterable<T>) rows::iterator) {
+            writer.write(jsonWriter.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+
+    private <T> void writeCsvHeader(List<Column<T>> columns, Writer writer) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name);
+        }
+        writer.write("\r\n");
+    }
+
+    private <T> void writeCsv(Stream<T> rows, List<Column<T>> columns, Writer writer) throws IOException {
+        for (T row : (Iterable<T>) rows::iterator) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(columns.get(i).value.apply(row), writer);
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    /**
+     * Writes one field as RFC 4180 CSV: quoted only when it contains a comma, quote or line break.
+     */
+    private void writeCsvValue(Object value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof LocalDateTime time ? time.format(formatter) : value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static final class Column<T> {
+        private final String name;
+        private final Function<T, Object> value;
+
+        private Column(String name, Function<T, Object> value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
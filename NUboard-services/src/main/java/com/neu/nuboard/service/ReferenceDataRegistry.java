@@ -0,0 +1,182 @@
+package com.neu.nuboard.service;
+
+import com.neu.nuboard.dto.CollegeResponseDTO;
+import com.neu.nuboard.dto.LocationResponseDTO;
+import com.neu.nuboard.model.College;
+import com.neu.nuboard.model.Location;
+import com.neu.nuboard.repository.CollegeRepository;
+import com.neu.nuboard.repository.LocationRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the reference data (locations and colleges).
+ * The tables are only written by the schema migrations (db/migration), so the data is loaded once at startup,
+ * re-checked on a fixed interval, and every read is served from an immutable snapshot
+ * without a database round trip.
+ */
+@Service
+public class ReferenceDataRegistry {
+
+    private final LocationRepository locationRepository;
+    private final CollegeRepository collegeRepository;
+
+    // Replaced as a whole on refresh, so readers always see one consistent version.
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataRegistry(LocationRepository locationRepository, CollegeRepository collegeRepository) {
+        this.locationRepository = locationRepository;
+        this.collegeRepository = collegeRepository;
+    }
+
+    /**
+     * Loads the snapshot once the application (including the migrations) is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Reloads locations and colleges from the database.
+     * The snapshot is only swapped when the content changed, so ETags stay stable otherwise.
+     */
+    @Scheduled(fixedDelayString = "${nuboard.reference-data.refresh-interval-ms:300000}",
+               initialDelayString = "${nuboard.reference-data.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        Map<Long, String> locations = locationRepository.findAll(Sort.by("id")).stream()
+                .collect(Collectors.toMap(Location::getId, Location::getName, (a, b) -> a, LinkedHashMap::new));
+        Map<Long, String> colleges = collegeRepository.findAll(Sort.by("id")).stream()
+                .collect(Collectors.toMap(College::getId, College::getName, (a, b) -> a, LinkedHashMap::new));
+
+        Snapshot current = snapshot;
+        if (current == null || !current.locations.equals(locations) || !current.colleges.equals(colleges)) {
+            snapshot = new Snapshot(locations, colleges);
+        }
+    }
+
+    /**
+     * Get all locations, ordered by ID.
+     * @return An unmodifiable list of locations.
+     */
+    public List<LocationResponseDTO> getLocations() {
+        return current().locationDTOs;
+    }
+
+    /**
+     * Get the strong ETag of the current location list.
+     * @return The quoted ETag, which changes whenever the list does.
+     */
+    public String getLocationsETag() {
+        return current().locationsETag;
+    }
+
+    /**
+     * Get all colleges, ordered by ID.
+     * @return An unmodifiable list of colleges.
+     */
+    public List<CollegeResponseDTO> getColleges() {
+        return current().collegeDTOs;
+    }
+
+    /**
+     * Get the strong ETag of the current college list.
+     * @return The quoted ETag, which changes whenever the list does.
+     */
+    public String getCollegesETag() {
+        return current().collegesETag;
+    }
+
+    /**
+     * Find a location by ID.
+     * Returns a new detached entity on every call, which is enough to set an association
+     * (only the ID is written) without loading the row.
+     * @param id The location ID.
+     * @return The location, or empty if the ID is null or unknown.
+     */
+    public Optional<Location> findLocation(Long id) {
+        String name = id == null ? null : current().locations.get(id);
+        if (name == null) {
+            return Optional.empty();
+        }
+        Location location = new Location();
+        location.setId(id);
+        location.setName(name);
+        return Optional.of(location);
+    }
+
+    /**
+     * Find a college by ID.
+     * Returns a new detached entity on every call, see {@link #findLocation(Long)}.
+     * @param id The college ID.
+     * @return The college, or empty if the ID is null or unknown.
+     */
+    public Optional<College> findCollege(Long id) {
+        String name = id == null ? null : current().colleges.get(id);
+        if (name == null) {
+            return Optional.empty();
+        }
+        College college = new College();
+        college.setId(id);
+        college.setName(name);
+        return Optional.of(college);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // A request can arrive before ApplicationReadyEvent; load on demand in that case.
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, String> locations;
+        private final Map<Long, String> colleges;
+        private final List<LocationResponseDTO> locationDTOs;
+        private final List<CollegeResponseDTO> collegeDTOs;
+        private final String locationsETag;
+        private final String collegesETag;
+
+        private Snapshot(Map<Long, String> locations, Map<Long, String> colleges) {
+            this.locations = Collections.unmodifiableMap(locations);
+            this.colleges = Collections.unmodifiableMap(colleges);
+            this.locationDTOs = locations.entrySet().stream()
+                    .map(entry -> new LocationResponseDTO(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toUnmodifiableList());
+            this.collegeDTOs = colleges.entrySet().stream()
+                    .map(entry -> new CollegeResponseDTO(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toUnmodifiableList());
+            this.locationsETag = eTag("locations", locations);
+            this.collegesETag = eTag("colleges", colleges);
+        }
+
+        // Derived from the content only, so every node serving the same data returns the same ETag.
+        private static String eTag(String prefix, Map<Long, String> entries) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                entries.forEach((id, name) -> digest.update((id + "=" + name + "\n").getBytes(StandardCharsets.UTF_8)));
+                String hash = HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+                return "\"" + prefix + "-" + hash + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.neu.nuboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neu.nuboard.dto.BulkRegistrationRequestDTO;
+import com.neu.nuboard.dto.BulkRegistrationResultDTO;
+import com.neu.nuboard.dto.EventRegistrationDTO;
+import com.neu.nuboard.dto.RegistrationTicketDTO;
+import com.neu.nuboard.dto.RegistrationTicketDTO.State;
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import com.neu.nuboard.model.EventRegistration;
+import com.neu.nuboard.utils.MpscRingBuffer;
+import com.neu.nuboard.utils.UUIDutil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind registration for signup rushes (POST /api/registrations/async).
+ * <p>
+ * A request is only validated, deduplicated against the registrations still pending, and put into a bounded
+ * lock-free queue; the client gets a ticket right away. One flusher thread drains the queue in batches,
+ * groups each batch by event and writes every group through {@link EventRegistrationService#bulkRegister},
+ * i.e. one transaction and a few statements per event instead of one transaction per registration.
+ * A full queue rejects new registrations with 429, so a rush cannot exhaust the connection pool.
+ * On shutdown the queue stops accepting and is drained after the web server has stopped taking requests.
+ */
+@Service
+public class RegistrationQueueService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationQueueService.class);
+
+    private final EventRegistrationService registrationService;
+    private final MpscRingBuffer<Ticket> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMillis;
+    // Registrations queued but not written yet, keyed by event and user, so a retried request gets the same ticket
+    private final Map<String, Ticket> pending = new ConcurrentHashMap<>();
+    // Outcomes stay available for polling until they expire
+    private final Cache<String, Ticket> tickets;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public RegistrationQueueService(EventRegistrationService registrationService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${nuboard.registration-queue.capacity:10000}") int capacity,
+                                    @Value("${nuboard.registration-queue.batch-size:500}") int batchSize,
+                                    @Value("${nuboard.registration-queue.flush-interval:50ms}") Duration flushInterval,
+                                    @Value("${nuboard.registration-queue.ticket-ttl:15m}") Duration ticketTtl,
+                                    @Value("${nuboard.registration-queue.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.registrationService = registrationService;
+        this.queue = new MpscRingBuffer<>(capacity);
+        this.batchSize = Math.min(batchSize, EventRegistrationService.MAX_BULK_SIZE);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.shutdownTimeoutMillis = shutdownTimeout.toMillis();
+        this.tickets = Caffeine.newBuilder()
+                // Pending tickets must never be evicted for size, so allow far more than the queue holds
+                .maximumSize(Math.max(100_000L, capacity * 10L))
+                .expireAfterWrite(ticketTtl)
+                .build();
+        this.rejected = Counter.builder("nuboard.registration.queue.rejected")
+                .description("Asynchronous registrations rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("nuboard.registration.queue.size", queue, MpscRingBuffer::size)
+                .description("Asynchronous registrations waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a registration.
+     * A registration for the same event and user that is still pending returns the existing ticket.
+     *
+     * @param eventId the ID of the event
+     * @param userId the ID of the user to register
+     * @return the ticket, in state PENDING
+     * @throws BusinessException if an ID is missing or malformed, the queue is full (429) or shutting down (503)
+     */
+    public RegistrationTicketDTO enqueue(String eventId, String userId) {
+        if (eventId == null || eventId.trim().isEmpty() || userId == null || userId.trim().isEmpty()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR);
+        }
+        UUID eventUuid = UUIDutil.parse(eventId);
+        if (eventUuid == null) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_FOUND);
+        }
+        UUID userUuid = UUIDutil.parse(userId);
+        if (userUuid == null) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        if (!running) {
+            throw new BusinessException(ErrorCode.REGISTRATION_QUEUE_UNAVAILABLE);
+        }
+
+        Ticket ticket = new Ticket(UUIDutil.getId(), eventUuid, userUuid);
+        Ticket existing = pending.putIfAbsent(ticket.key(), ticket);
+        if (existing != null) {
+            return existing.toDTO();
+        }
+        tickets.put(ticket.id, ticket);
+        if (!queue.offer(ticket)) {
+            pending.remove(ticket.key());
+            tickets.invalidate(ticket.id);
+            rejected.increment();
+            throw new BusinessException(ErrorCode.REGISTRATION_QUEUE_FULL);
+        }
+        return ticket.toDTO();
+    }
+
+    /**
+     * Get the state of a queued registration.
+     *
+     * @param ticketId the ticket returned by {@link #enqueue(String, String)}
+     * @return the ticket
+     * @throws BusinessException if the ticket is unknown or has expired
+     */
+    public RegistrationTicketDTO getTicket(String ticketId) {
+        Ticket ticket = ticketId == null ? null : tickets.getIfPresent(ticketId);
+        if (ticket == null) {
+            throw new BusinessException(ErrorCode.REGISTRATION_TICKET_NOT_FOUND);
+        }
+        return ticket.toDTO();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "nuboard-registration-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.warn("Registration queue not drained within {} ms, {} registrations left", shutdownTimeoutMillis, queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Below the web server's phases, so it stops after the server has stopped accepting registrations
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        while (true) {
+            queue.drain(batch::add, batchSize);
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+            if (batch.size() < batchSize) {
+                if (!running && queue.size() == 0) {
+                    return;
+                }
+                // Let the next batch fill up
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Ticket> batch) {
+        Map<UUID, List<Ticket>> byEvent = batch.stream()
+                .collect(Collectors.groupingBy(ticket -> ticket.eventId, LinkedHashMap::new, Collectors.toList()));
+        byEvent.forEach((eventId, group) -> {
+            try {
+                writeGroup(eventId, group);
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} queued registrations for event {}", group.size(), eventId, e);
+                group.forEach(ticket -> complete(ticket, State.FAILED));
+            }
+        });
+    }
+
+    private void writeGroup(UUID eventId, List<Ticket> group) {
+        BulkRegistrationRequestDTO request = new BulkRegistrationRequestDTO();
+        request.setEventId(eventId.toString());
+        request.setUserIds(group.stream().map(ticket -> ticket.userId.toString()).collect(Collectors.toList()));
+        List<BulkRegistrationResultDTO> results;
+        try {
+            results = registrationService.bulkRegister(request);
+        } catch (BusinessException e) {
+            if (e.getErrorCode() == ErrorCode.EVENT_NOT_FOUND) {
+                group.forEach(ticket -> complete(ticket, State.UNKNOWN_EVENT));
+                return;
+            }
+            if (e.getErrorCode() == ErrorCode.ALREADY_REGISTERED) {
+                // A synchronous registration for one of the users won a race; write this group one by one
+                group.forEach(this::writeOne);
+                return;
+            }
+            throw e;
+        }
+        Map<String, Ticket> byUser = group.stream().collect(Collectors.toMap(ticket -> ticket.userId.toString(), ticket -> ticket));
+        for (BulkRegistrationResultDTO result : results) {
+            Ticket ticket = byUser.get(result.getUserId());
+            if (ticket != null) {
+                complete(ticket, toState(result));
+            }
+        }
+    }
+
+    private void writeOne(Ticket ticket) {
+        try {
+            EventRegistrationDTO registration = registrationService.registerForEvent(ticket.eventId.toString(), ticket.userId.toString());
+            complete(ticket, registration.getStatus() == EventRegistration.Status.REGISTERED ? State.REGISTERED : State.WAITLISTED);
+        } catch (BusinessException e) {
+            switch (e.getErrorCode()) {
+                case ALREADY_REGISTERED -> complete(ticket, State.ALREADY_REGISTERED);
+                case EVENT_NOT_FOUND -> complete(ticket, State.UNKNOWN_EVENT);
+                case USER_NOT_FOUND -> complete(ticket, State.UNKNOWN_USER);
+                default -> complete(ticket, State.FAILED);
+            }
+        }
+    }
+
+    private static State toState(BulkRegistrationResultDTO result) {
+        switch (result.getResult()) {
+            case ALREADY_REGISTERED:
+                return State.ALREADY_REGISTERED;
+            case UNKNOWN_USER:
+                return State.UNKNOWN_USER;
+            case UNKNOWN_EVENT:
+                return State.UNKNOWN_EVENT;
+            default:
+                return result.getStatus() == EventRegistration.Status.REGISTERED ? State.REGISTERED : State.WAITLISTED;
+        }
+    }
+
+    private void complete(Ticket ticket, State state) {
+        ticket.state = state;
+        pending.remove(ticket.key(), ticket);
+        // Restart the TTL from the outcome
+        tickets.put(ticket.id, ticket);
+    }
+
+    private static final class Ticket {
+        private final String id;
+        private final UUID eventId;
+        private final UUID userId;
+        // Written by the flusher thread, read by request threads
+        private volatile State state = State.PENDING;
+
+        private Ticket(String id, UUID eventId, UUID userId) {
+            this.id = id;
+            this.eventId = eventId;
+            this.userId = userId;
+        }
+
+        private String key() {
+            return eventId + "/" + userId;
+        }
+
+        private RegistrationTicketDTO toDTO() {
+            return new RegistrationTicketDTO(id, eventId.toString(), userId.toString(), state);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.neu.nuboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neu.nuboard.datasource.ShardRouter;
+import com.neu.nuboard.datasource.ShardingProperties;
+import com.neu.nuboard.repository.EventRepository;
+import com.neu.nuboard.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Finds the shard an event or user lives in from its ID, which does not encode the campus.
+ * <p>
+ * Events never leave their shard (see {@link EventService#updateEvent}). A user lives in the shard of their location
+ * (their home shard), and may also have copies in other shards, made for cross-campus registrations
+ * and kept equal to the home row; the home shard is derived from the location stored in any of them.
+ * Known locations are kept in a bounded cache, and a miss asks every shard in parallel.
+ * A stale entry on another node is harmless: it points at a shard that still holds a current copy, or at none.
+ * <p>
+ * Without sharding every ID is reported in the single shard without a query;
+ * whether the event or user exists is then checked by the caller, as before.
+ */
+@Component
+public class ShardDirectory {
+
+    static final String EVENT_CACHE = "eventShard";
+    static final String USER_CACHE = "userShard";
+    // IDs per IN list; stays well below PostgreSQL's bind parameter limit.
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
+    private final ShardRouter shards;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final Cache<UUID, String> eventShards;
+    private final Cache<UUID, String> userShards;
+
+    public ShardDirectory(ShardRouter shards,
+                          ShardingProperties properties,
+                          EventRepository eventRepository,
+                          UserRepository userRepository,
+                          MeterRegistry meterRegistry) {
+        this.shards = shards;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.eventShards = Caffeine.newBuilder().maximumSize(properties.getDirectorySize()).recordStats().build();
+        this.userShards = Caffeine.newBuilder().maximumSize(properties.getDirectorySize()).recordStats().build();
+        if (shards.isEnabled()) {
+            CaffeineCacheMetrics.monitor(meterRegistry, eventShards, EVENT_CACHE);
+            CaffeineCacheMetrics.monitor(meterRegistry, userShards, USER_CACHE);
+        }
+    }
+
+    /**
+     * @param eventId The event ID.
+     * @return The shard holding the event, or empty if no shard does.
+     */
+    public Optional<String> locateEvent(UUID eventId) {
+        return Optional.ofNullable(locateEvents(List.of(eventId)).get(eventId));
+    }
+
+    /**
+     * @param eventIds The event IDs.
+     * @return The shard of each event that exists; unknown events are left out.
+     */
+    public Map<UUID, String> locateEvents(Collection<UUID> eventIds) {
+        return locate(eventIds, eventShards, (shard, batch) -> {
+            Map<UUID, String> found = new HashMap<>();
+            eventRepository.findExistingIds(batch).forEach(id -> found.put(id, shard));
+            return found;
+        });
+    }
+
+    /**
+     * @param userId The user ID.
+     * @return The user's home shard, or empty if no shard holds the user.
+     */
+    public Optional<String> locateUser(UUID userId) {
+        return Optional.ofNullable(locateUsers(List.of(userId)).get(userId));
+    }
+
+    /**
+     * @param userIds The user IDs.
+     * @return The home shard of each user that exists; unknown users are left out.
+     */
+    public Map<UUID, String> locateUsers(Collection<UUID> userIds) {
+        return locate(userIds, userShards, (shard, batch) -> {
+            Map<UUID, String> found = new HashMap<>();
+            userRepository.findLocationsByIdIn(batch)
+                    .forEach(row -> found.put(row.getId(), shards.shardForLocation(row.getLocationId())));
+            return found;
+        });
+    }
+
+    /**
+     * Records the shard of a new event.
+     */
+    public void eventCreated(UUID eventId, String shard) {
+        if (shards.isEnabled()) {
+            eventShards.put(eventId, shard);
+        }
+    }
+
+    public void eventDeleted(UUID eventId) {
+        eventShards.invalidate(eventId);
+    }
+
+    /**
+     * Records the home shard of a new or moved user.
+     */
+    public void userSaved(UUID userId, Long locationId) {
+        if (shards.isEnabled()) {
+            userShards.put(userId, shards.shardForLocation(locationId));
+        }
+    }
+
+    public void userDeleted(UUID userId) {
+        userShards.invalidate(userId);
+    }
+
+    /**
+     * Serves the IDs from the cache and asks every shard for the rest; lookup finds one batch of IDs in one shard.
+     */
+    private Map<UUID, String> locate(Collection<UUID> ids, Cache<UUID, String> known,
+                                     BiFunction<String, List<UUID>, Map<UUID, String>> lookup) {
+        Map<UUID, String> found = new HashMap<>();
+        if (!shards.isEnabled()) {
+            ids.forEach(id -> found.put(id, shards.getDefaultShard()));
+            return found;
+        }
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            String shard = known.getIfPresent(id);
+            if (shard != null) {
+                found.put(id, shard);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        Map<String, Map<UUID, String>> byShard = shards.onEveryShard(true, shard -> {
+            Map<UUID, String> result = new HashMap<>();
+            for (int i = 0; i < missing.size(); i += LOOKUP_BATCH_SIZE) {
+                result.putAll(lookup.apply(shard, missing.subList(i, Math.min(i + LOOKUP_BATCH_SIZE, missing.size()))));
+            }
+            return result;
+        });
+        byShard.values().forEach(result -> {
+            found.putAll(result);
+            known.putAll(result);
+        });
+        return found;
+    }
+}
@@ -1,43 +1,73 @@
 package com.neu.nuboard.service;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.neu.nuboard.datasource.ShardRouter;
 import com.neu.nuboard.dto.UserCreateDTO;
 import com.neu.nuboard.exception.BusinessException;
 import com.neu.nuboard.exception.ErrorCode;
 import com.neu.nuboard.model.College;
 import com.neu.nuboard.model.Location;
 import com.neu.nuboard.model.User;
-import com.neu.nuboard.repository.CollegeRepository;
-import com.neu.nuboard.repository.LocationRepository;
+import com.neu.nuboard.repository.EventRegistrationRepository;
+import com.neu.nuboard.repository.EventRepository;
 import com.neu.nuboard.repository.UserRepository;
+import com.neu.nuboard.utils.UUIDutil;
 
 @Service
 public class UserService {
+    // 合并多个分片的结果时使用的顺序（ID按字符串比较，与PostgreSQL的uuid排序一致）
+    private static final Comparator<User> USER_ORDER = Comparator.comparing(user -> user.getId().toString());
+    private static final Comparator<User> SEARCH_ORDER = Comparator.comparing(User::getUsername, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(USER_ORDER);
+
     private final UserRepository userRepository;
-    private final LocationRepository locationRepository;
-    private final CollegeRepository collegeRepository;
+    private final ReferenceDataRegistry referenceData;
+    private final EventRegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final EventDetailCache eventDetailCache;
+    private final ShardRouter shards;
+    private final ShardDirectory directory;
     
     @Autowired
     public UserService(UserRepository userRepository, 
-                      LocationRepository locationRepository,
-                      CollegeRepository collegeRepository) {
+                      ReferenceDataRegistry referenceData,
+                      EventRegistrationRepository registrationRepository,
+                      EventRepository eventRepository,
+                      EventDetailCache eventDetailCache,
+                      ShardRouter shards,
+                      ShardDirectory directory) {
         this.userRepository = userRepository;
-        this.locationRepository = locationRepository;
-        this.collegeRepository = collegeRepository;
+        this.referenceData = referenceData;
+        this.registrationRepository = registrationRepository;
+        this.eventRepository = eventRepository;
+        this.eventDetailCache = eventDetailCache;
+        this.shards = shards;
+        this.directory = directory;
     }
     
     /**
      * 获取所有用户
+     * 分片部署时并行查询所有分片，按ID合并
      * @return 用户列表
      * @throws BusinessException 当数据库查询失败时
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         try {
-            return userRepository.findAll();
+            return shards.gather(shard -> homeUsers(shard, userRepository.findAll()), USER_ORDER);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             throw new BusinessException(ErrorCode.USER_QUERY_FAILED);
         }
@@ -49,25 +79,39 @@ public class UserService {
      * @return 用户对象
      * @throws BusinessException 如果用户不存在
      */
+    @Transactional(readOnly = true)
     public User getUserById(String id) {
-        return userRepository.findById(id)
+        UUID userId = parseUserId(id);
+        shards.bind(directory.locateUser(userId)
+            .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND)));
+        User user = userRepository.findById(userId)
             .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        // 分片部署时关闭了open-in-view，报名记录要在事务内加载
+        Hibernate.initialize(user.getRegistrations());
+        return user;
     }
 
+    /**
+     * 创建新用户，保存在其校区所在的分片
+     * 用户名和邮箱在所有分片中唯一：分片部署时并行检查每个分片
+     * （每个分片的唯一约束只能拦住同一分片内的并发重复）
+     * @param userDTO 用户信息DTO
+     * @return 创建的用户
+     */
     public User createUser(UserCreateDTO userDTO) {
         // 检查用户名是否已存在
-        if (userRepository.existsByUsername(userDTO.getUsername())) {
+        if (existsOnAnyShard(shard -> userRepository.existsByUsername(userDTO.getUsername()))) {
             throw new BusinessException(ErrorCode.USER_ALREADY_EXISTS);
         }
         // 检查电子邮件是否已存在
-        if (userRepository.existsByEmail(userDTO.getEmail())) {
+        if (existsOnAnyShard(shard -> userRepository.existsByEmail(userDTO.getEmail()))) {
             throw new BusinessException(ErrorCode.EMAIL_ALREADY_EXISTS);
         }  
 
-        // 获取Location和College实体
-        Location location = locationRepository.findById(userDTO.getLocationId())
+        // 获取Location和College实体（从内存中的参考数据读取，不查询数据库）
+        Location location = referenceData.findLocation(userDTO.getLocationId())
             .orElseThrow(() -> new BusinessException(ErrorCode.USER_INVALID_LOCATION_SELECTION));
-        College college = collegeRepository.findById(userDTO.getCollegeId())
+        College college = referenceData.findCollege(userDTO.getCollegeId())
             .orElseThrow(() -> new BusinessException(ErrorCode.USER_INVALID_PROGRAM));
 
         // 创建用户对象
@@ -86,37 +130,47 @@ public class UserService {
             throw new BusinessException(ErrorCode.PARAM_ERROR);
         }
         
-        // 保存用户并返回
-        return userRepository.save(user);
+        // 保存到用户校区所在的分片并返回
+        User savedUser = shards.inTransaction(shards.shardForLocation(location.getId()), false,
+            () -> userRepository.save(user));
+        directory.userSaved(savedUser.getId(), location.getId());
+        return savedUser;
     }
     
     /**
      * 更新用户信息
+     * 分片部署时其他分片上的用户副本同步更新；换到另一个分片的校区时，
+     * 在新分片写入一份作为主数据，原来的行（连同其中的报名记录）成为副本
      * @param id 要更新的用户ID
      * @param userDTO 用户信息DTO
      * @return 更新后的用户
      */
+    @Transactional
     public User updateUser(String id, UserCreateDTO userDTO) {
         // 查找要更新的用户
-        User user = userRepository.findById(id)
+        UUID userId = parseUserId(id);
+        String home = directory.locateUser(userId)
+            .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        shards.bind(home);
+        User user = userRepository.findById(userId)
             .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
         
         // 如果用户名变更了，检查是否已存在
         if (!user.getUsername().equals(userDTO.getUsername()) && 
-            userRepository.existsByUsername(userDTO.getUsername())) {
+            existsOnAnyShard(shard -> userRepository.existsByUsername(userDTO.getUsername()))) {
             throw new BusinessException(ErrorCode.USER_ALREADY_EXISTS);
         }
         
         // 如果邮箱变更了，检查是否已存在
         if (!user.getEmail().equals(userDTO.getEmail()) && 
-            userRepository.existsByEmail(userDTO.getEmail())) {
+            existsOnAnyShard(shard -> userRepository.existsByEmail(userDTO.getEmail()))) {
             throw new BusinessException(ErrorCode.EMAIL_ALREADY_EXISTS);
         }
 
-        // 获取Location和College实体
-        Location location = locationRepository.findById(userDTO.getLocationId())
+        // 获取Location和College实体（从内存中的参考数据读取，不查询数据库）
+        Location location = referenceData.findLocation(userDTO.getLocationId())
             .orElseThrow(() -> new BusinessException(ErrorCode.USER_INVALID_LOCATION_SELECTION));
-        College college = collegeRepository.findById(userDTO.getCollegeId())
+        College college = referenceData.findCollege(userDTO.getCollegeId())
             .orElseThrow(() -> new BusinessException(ErrorCode.USER_INVALID_PROGRAM));
                 
         // 更新用户信息
@@ -132,21 +186,114 @@ public class UserService {
         }
         
         // 保存并返回更新后的用户
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        if (shards.isEnabled()) {
+            syncCopies(savedUser, home);
+        }
+        Hibernate.initialize(savedUser.getRegistrations());
+        directory.userSaved(userId, location.getId());
+        return savedUser;
+    }
+
+    /**
+     * 把用户的当前数据写到主分片以外的分片：新的主分片写入（或覆盖）一份，其他分片只更新已有的副本
+     * 各分片各自提交，写入是幂等的，失败时重试更新即可补齐
+     * @param user 已更新的用户
+     * @param home 更新前用户所在的主分片（当前事务所在的分片）
+     */
+    private void syncCopies(User user, String home) {
+        UUID userId = user.getId();
+        String username = user.getUsername();
+        String program = user.getProgram();
+        String email = user.getEmail();
+        Long locationId = user.getLocation().getId();
+        Long collegeId = user.getCollege().getId();
+        String newHome = shards.shardForLocation(locationId);
+        shards.onEveryShard(false, shard -> {
+            if (shard.equals(home)) {
+                return 0;
+            }
+            return shard.equals(newHome)
+                ? userRepository.upsertCopy(userId, username, program, email, locationId, collegeId)
+                : userRepository.updateCopy(userId, username, program, email, locationId, collegeId);
+        });
     }
     
     /**
      * 删除用户
+     * 分片部署时用户可能在多个分片上有行（主分片和跨校区报名产生的副本），每个分片各自删除用户及其报名记录
      * @param id 要删除的用户ID
      */
+    @Transactional
     public void deleteUser(String id) {
+        UUID userId = parseUserId(id);
+        Map<String, Boolean> deleted = shards.onEveryShard(false, shard -> deleteFromShard(userId));
         // 检查用户是否存在
-        if (!userRepository.existsById(id)) {
+        if (!deleted.containsValue(Boolean.TRUE)) {
             throw new BusinessException(ErrorCode.USER_NOT_FOUND);
         }
+        directory.userDeleted(userId);
+    }
+
+    /**
+     * 从当前分片删除用户
+     * @param userId 用户ID
+     * @return 用户在这个分片上存在并已删除时返回true
+     */
+    private boolean deleteFromShard(UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            return false;
+        }
         
-        // 删除用户
-        userRepository.deleteById(id);
+        // 用户的报名记录会被级联删除，这些活动的详情缓存要失效，并且要出现在变更列表中
+        List<UUID> eventIds = registrationRepository.findEventIdsByUserId(userId);
+
+        // 先写活动行（锁定这些活动），再级联删除报名记录：与报名、取消报名的加锁顺序一致（先活动后报名），避免死锁
+        if (!eventIds.isEmpty()) {
+            eventRepository.trackChanges(eventIds);
+        }
+
+        // 删除用户；归档的报名记录没有外键，不会被级联删除
+        userRepository.deleteById(userId);
+        registrationRepository.deleteArchivedByUserId(userId);
+        eventDetailCache.evictAll(eventIds);
+        return true;
+    }
+
+    /**
+     * 在每个分片上执行检查，任意一个分片满足即返回true（未分片时就是原来的单次查询）
+     */
+    private boolean existsOnAnyShard(Function<String, Boolean> check) {
+        return shards.onEveryShard(true, check).containsValue(Boolean.TRUE);
+    }
+
+    /**
+     * 只保留主分片是当前分片的用户（去掉跨校区报名产生的副本），并在事务内加载报名记录
+     * 报名数只统计当前分片上的报名，即本校区活动的报名
+     * @param shard 当前分片
+     * @param users 当前分片查询到的用户
+     * @return 主分片上的用户
+     */
+    private List<User> homeUsers(String shard, List<User> users) {
+        List<User> home = users.stream()
+            .filter(user -> user.getLocation() == null || shards.shardForLocation(user.getLocation().getId()).equals(shard))
+            .collect(Collectors.toList());
+        home.forEach(user -> Hibernate.initialize(user.getRegistrations()));
+        return home;
+    }
+
+    /**
+     * 解析请求中的用户ID，格式不正确的ID不可能对应任何用户
+     * @param id 用户ID字符串
+     * @return 解析后的UUID
+     * @throws BusinessException 如果ID格式不正确
+     */
+    private UUID parseUserId(String id) {
+        UUID userId = UUIDutil.parse(id);
+        if (userId == null) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+        return userId;
     }
     
     /**
@@ -166,6 +313,7 @@ public class UserService {
      * @param keyword 搜索关键字
      * @return 匹配的用户列表
      */
+    @Transactional(readOnly = true)
     public List<User> searchUsers(String keyword) {
         try {
             if (keyword == null || keyword.trim().isEmpty()) {
@@ -177,7 +325,10 @@ public class UserService {
                 throw new BusinessException(ErrorCode.USER_SEARCH_INVALID_KEYWORD);
             }
             
-            List<User> users = userRepository.findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCase(keyword.trim(), keyword.trim());
+            // 分片部署时并行搜索所有分片，按用户名合并
+            List<User> users = shards.gather(shard -> homeUsers(shard,
+                userRepository.findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCase(keyword.trim(), keyword.trim())),
+                SEARCH_ORDER);
             
             if (users.isEmpty()) {
                 throw new BusinessException(ErrorCode.USER_SEARCH_NO_RESULTS);
@@ -0,0 +1,61 @@
+package com.neu.nuboard.utils;
+
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position used to page through events ordered by (startTime, id).
+ * The client only ever sees the encoded form, so the format can change without breaking the API.
+ */
+public class EventCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime startTime;
+    private final UUID id;
+
+    public EventCursor(LocalDateTime startTime, UUID id) {
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public UUID getId() { return id; }
+
+    /**
+     * Encodes this position into an opaque, URL-safe token.
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String raw = startTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * @param token The opaque cursor received from the client.
+     * @return The decoded position.
+     * @throws BusinessException if the token is malformed.
+     */
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BusinessException(ErrorCode.EVENT_INVALID_CURSOR);
+            }
+            UUID id = UUIDutil.parse(raw.substring(separator + 1));
+            if (id == null) {
+                throw new BusinessException(ErrorCode.EVENT_INVALID_CURSOR);
+            }
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.neu.nuboard.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free queue for many producer threads and a single consumer thread.
+ * Producers claim a slot with one CAS and never block: when the buffer is full, {@link #offer} fails
+ * and the caller decides what to do (usually drop and count). Only one thread may call {@link #drain}.
+ * @param <T> The element type.
+ */
+public class MpscRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int capacity;
+    private final int mask;
+    // Next position to claim, shared by the producers
+    private final AtomicLong tail = new AtomicLong();
+    // Next position to read, only written by the consumer
+    private volatile long head;
+
+    /**
+     * @param capacity The number of slots, rounded up to a power of two.
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Adds an element without blocking.
+     * @param element The element, not null.
+     * @return True if the element was added, false if the buffer is full.
+     */
+    public boolean offer(T element) {
+        long position;
+        do {
+            position = tail.get();
+            if (position - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(position, position + 1));
+        // The consumer treats null as "not published yet" and waits for this store
+        slots.lazySet((int) position & mask, element);
+        return true;
+    }
+
+    /**
+     * Removes up to max elements in FIFO order and passes them to the consumer. Single consumer thread only.
+     * Stops early at a slot whose producer has claimed it but not yet published the element.
+     * @param consumer Receives the elements.
+     * @param max The maximum number of elements to remove.
+     * @return The number of elements removed.
+     */
+    public int drain(Consumer<T> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            T element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            // Volatile write: the slot is cleared before producers can see it as free
+            head = ++position;
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return The approximate number of elements in the buffer.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() { return capacity; }
+}
@@ -0,0 +1,84 @@
+package com.neu.nuboard.utils;
+
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the event change feed (GET /api/events/changes).
+ * <p>
+ * Change sequence numbers are taken when a transaction writes, not when it commits, so a transaction that
+ * commits late can make a lower number visible after a higher one was already returned. The token therefore
+ * does not start from the last number seen but from a transaction ID floor: every transaction that started
+ * before the floor had already finished when the previous sync ran, and everything at or above it is re-read.
+ * A client may receive the same change twice and must apply changes as upserts.
+ * <p>
+ * Within one sync the feed is paged by change sequence (after); horizon is the floor for the next sync,
+ * captured when the sync started, and issuedAt bounds how long tombstones must be kept for the token.
+ */
+public class SyncToken {
+    private static final String SEPARATOR = ".";
+
+    private final long floor;
+    private final long after;
+    private final long horizon;
+    private final long issuedAt;
+
+    public SyncToken(long floor, long after, long horizon, long issuedAt) {
+        this.floor = floor;
+        this.after = after;
+        this.horizon = horizon;
+        this.issuedAt = issuedAt;
+    }
+
+    /**
+     * @return Only changes made by transactions with at least this ID are returned.
+     */
+    public long getFloor() { return floor; }
+
+    /**
+     * @return Only changes with a higher change sequence are returned; 0 at the start of a sync.
+     */
+    public long getAfter() { return after; }
+
+    /**
+     * @return The floor of the next sync, or 0 if not captured yet.
+     */
+    public long getHorizon() { return horizon; }
+
+    /**
+     * @return When the sync this token continues started, in epoch seconds.
+     */
+    public long getIssuedAt() { return issuedAt; }
+
+    /**
+     * Encodes this position into an opaque, URL-safe token.
+     * @return The encoded token.
+     */
+    public String encode() {
+        String raw = floor + SEPARATOR + after + SEPARATOR + horizon + SEPARATOR + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * @param token The opaque token received from the client.
+     * @return The decoded position.
+     * @throws BusinessException if the token is malformed.
+     */
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\.", -1);
+            if (parts.length != 4) {
+                throw new BusinessException(ErrorCode.EVENT_INVALID_SYNC_TOKEN);
+            }
+            return new SyncToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.EVENT_INVALID_SYNC_TOKEN);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.neu.nuboard.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neu.nuboard.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handles the Idempotency-Key header on create endpoints (POST only).
+ * <p>
+ * The first request with a key runs normally and its response (status, Content-Type, Location and body) is stored
+ * for {@code nuboard.idempotency.ttl}. A retry with the same key gets the stored response back, marked with
+ * {@value #REPLAYED_HEADER}, without reaching the controller or the database. A retry that arrives while the
+ * original is still running waits for it instead of running twice. 5xx responses are not stored, so the next retry
+ * runs again. Reusing a key for a different request (method, path, parameters or body) fails with 422.
+ * Keys are scoped to the client (its principal, or else its address), so one client cannot replay another's response.
+ * The body is held in memory for the fingerprint, so bodies over {@code nuboard.idempotency.max-body-size} fail
+ * with 413 before they are read in full.
+ * Keys are held in memory per node, so they only deduplicate retries that reach the same node.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // Rough per-entry overhead besides the body, for the size bound
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final ObjectMapper objectMapper;
+    private final int maxBodySize;
+    private final long waitTimeoutMillis;
+    // Completed entries hold the stored response; an entry still in flight is the original request running
+    private final AsyncCache<String, StoredResponse> store;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    public IdempotencyFilter(IdempotencyProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.maxBodySize = (int) Math.min(properties.getMaxBodySize().toBytes(), Integer.MAX_VALUE - 1);
+        this.waitTimeoutMillis = properties.getWaitTimeout().toMillis();
+        this.store = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxStoredSize().toBytes())
+                .weigher((String key, StoredResponse response) -> key.length() + response.body.length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterWrite(properties.getTtl())
+                .buildAsync();
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.rejected = requests(meterRegistry, "rejected");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("nuboard.idempotency.requests")
+                .description("Requests with an Idempotency-Key by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            rejected.increment();
+            writeError(response, ErrorCode.IDEMPOTENCY_KEY_INVALID);
+            return;
+        }
+        // Parse form parameters before the body is read, otherwise the container cannot read them any more
+        Map<String, String[]> parameters = request.getParameterMap();
+        byte[] body = request.getContentLengthLong() > maxBodySize
+                ? null
+                : request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body == null || body.length > maxBodySize) {
+            rejected.increment();
+            writeError(response, ErrorCode.IDEMPOTENCY_BODY_TOO_LARGE);
+            return;
+        }
+        byte[] fingerprint = fingerprint(request, parameters, body);
+        String storeKey = client(request) + " " + request.getMethod() + " " + request.getRequestURI() + " " + key;
+
+        while (true) {
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> existing = store.asMap().putIfAbsent(storeKey, mine);
+            if (existing == null) {
+                execute(new CachedBodyRequest(request, body), response, filterChain, fingerprint, mine);
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = existing.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                rejected.increment();
+                writeError(response, ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException | CancellationException e) {
+                stored = null;
+            }
+            if (stored == null) {
+                // The original failed and nothing was stored; run this request as the new original
+                store.asMap().remove(storeKey, existing);
+                continue;
+            }
+            if (!MessageDigest.isEqual(stored.fingerprint, fingerprint)) {
+                rejected.increment();
+                writeError(response, ErrorCode.IDEMPOTENCY_KEY_REUSED);
+                return;
+            }
+            replayed.increment();
+            stored.writeTo(response);
+            return;
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         byte[] fingerprint, CompletableFuture<StoredResponse> pending) throws ServletException, IOException {
+        executed.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < 500 && !request.isAsyncStarted()) {
+                pending.complete(new StoredResponse(fingerprint, wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray()));
+            }
+        } finally {
+            // If nothing was stored, completing with null drops the entry and lets a waiting duplicate run instead
+            pending.complete(null);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "ip:" + request.getRemoteAddr();
+    }
+
+    private void writeError(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("code", errorCode.getCode());
+        body.put("message", errorCode.getMessage());
+        body.put("data", null);
+        response.setStatus(errorCode.getHttpStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * SHA-256 over everything that identifies the request, so a key reused for a different request is detected.
+     */
+    private static byte[] fingerprint(HttpServletRequest request, Map<String, String[]> parameters, byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+        new TreeMap<>(parameters).forEach((name, values) ->
+                digest.update((name + "=" + Arrays.toString(values) + "\n").getBytes(StandardCharsets.UTF_8)));
+        digest.update(body);
+        return digest.digest();
+    }
+
+    private static final class StoredResponse {
+        private final byte[] fingerprint;
+        private final int status;
+        private final String contentType;
+        private final String location;
+        private final byte[] body;
+
+        private StoredResponse(byte[] fingerprint, int status, String contentType, String location, byte[] body) {
+            this.fingerprint = fingerprint;
+            this.status = status;
+            this.contentType = contentType;
+            this.location = location;
+            this.body = body;
+        }
+
+        private void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            if (location != null) {
+                response.setHeader(HttpHeaders.LOCATION, location);
+            }
+            response.setHeader(REPLAYED_HEADER, "true");
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * Gives the rest of the chain the body that was read for the fingerprint.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() { return in.available() == 0; }
+
+                @Override
+                public boolean isReady() { return true; }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() { return in.read(); }
+
+                @Override
+                public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.neu.nuboard.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Idempotency-Key handling for create endpoints, bound from nuboard.idempotency.
+ */
+@ConfigurationProperties(prefix = "nuboard.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Honor the Idempotency-Key header on the configured paths.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Exact paths whose POST requests accept an Idempotency-Key.
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/events", "/api/users", "/api/registrations/register"));
+
+    /**
+     * How long a stored response is replayed for its key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Upper bound on the response bodies held in memory; least recently used keys are evicted beyond it.
+     */
+    private DataSize maxStoredSize = DataSize.ofMegabytes(32);
+
+    /**
+     * Largest request body accepted with an Idempotency-Key, since the body is held in memory to fingerprint it;
+     * larger requests get 413.
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+    /**
+     * How long a duplicate waits for the original request still in flight before getting 409.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getPaths() { return paths; }
+    public void setPaths(List<String> paths) { this.paths = paths; }
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+    public DataSize getMaxStoredSize() { return maxStoredSize; }
+    public void setMaxStoredSize(DataSize maxStoredSize) { this.maxStoredSize = maxStoredSize; }
+
+    public DataSize getMaxBodySize() { return maxBodySize; }
+    public void setMaxBodySize(DataSize maxBodySize) { this.maxBodySize = maxBodySize; }
+
+    public Duration getWaitTimeout() { return waitTimeout; }
+    public void setWaitTimeout(Duration waitTimeout) { this.waitTimeout = waitTimeout; }
+}
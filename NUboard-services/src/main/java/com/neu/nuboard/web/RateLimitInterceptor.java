@@ -0,0 +1,92 @@
+package com.neu.nuboard.web;
+
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies the {@link RateLimiter} of the endpoint's group before the handler runs.
+ * Every limited response carries RateLimit-Limit, RateLimit-Remaining and RateLimit-Reset (seconds);
+ * a request over the limit fails with RATE_LIMITED (429) and a Retry-After header.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final Map<String, LimitedGroup> groupsByEndpoint = new HashMap<>();
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        properties.getGroups().forEach((name, group) -> {
+            RateLimiter limiter = new RateLimiter(group.getLimit(), group.getPeriod(),
+                    properties.getMaxKeys(), properties.getIdleTimeout());
+            Counter rejected = Counter.builder("nuboard.rate-limit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            Gauge.builder("nuboard.rate-limit.clients", limiter, RateLimiter::trackedKeys)
+                    .description("Clients with a rate limit bucket")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            LimitedGroup limited = new LimitedGroup(limiter, group.getKeyBy(), rejected);
+            group.getEndpoints().forEach(endpoint -> groupsByEndpoint.put(endpoint.trim(), limited));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return true;
+        }
+        LimitedGroup group = groupsByEndpoint.get(request.getMethod() + " " + pattern);
+        if (group == null) {
+            return true;
+        }
+        RateLimiter.Decision decision = group.limiter.tryAcquire(clientKey(request, group.keyBy));
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.getLimit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.getRemaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.getResetSeconds()));
+        if (!decision.isAllowed()) {
+            group.rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+            throw new BusinessException(ErrorCode.RATE_LIMITED);
+        }
+        return true;
+    }
+
+    private static String clientKey(HttpServletRequest request, RateLimitProperties.KeyBy keyBy) {
+        if (keyBy == RateLimitProperties.KeyBy.USER) {
+            // Only a user the server authenticated; the userId parameter is whatever the client sends
+            Principal principal = request.getUserPrincipal();
+            if (principal != null) {
+                return "user:" + principal.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static final class LimitedGroup {
+        private final RateLimiter limiter;
+        private final RateLimitProperties.KeyBy keyBy;
+        private final Counter rejected;
+
+        private LimitedGroup(RateLimiter limiter, RateLimitProperties.KeyBy keyBy, Counter rejected) {
+            this.limiter = limiter;
+            this.keyBy = keyBy;
+            this.rejected = rejected;
+        }
+    }
+}
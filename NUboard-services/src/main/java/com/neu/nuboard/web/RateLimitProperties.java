@@ -0,0 +1,92 @@
+package com.neu.nuboard.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-client rate limits for groups of endpoints, bound from nuboard.rate-limit.
+ */
+@ConfigurationProperties(prefix = "nuboard.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * How a client is identified.
+     */
+    public enum KeyBy {
+        /**
+         * The client IP address (behind a proxy, set server.forward-headers-strategy so this is the real client).
+         */
+        IP,
+        /**
+         * The authenticated user, or the client IP address for anonymous requests. Never a request parameter,
+         * which any client could change to get a fresh bucket.
+         */
+        USER
+    }
+
+    /**
+     * Enforce the limits.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Clients tracked per group; the least recently seen are dropped beyond it.
+     */
+    private long maxKeys = 100_000;
+
+    /**
+     * How long an idle client's bucket is kept (never less than the group's period).
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Groups by name; an endpoint in no group is not limited.
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaxKeys() { return maxKeys; }
+    public void setMaxKeys(long maxKeys) { this.maxKeys = maxKeys; }
+
+    public Duration getIdleTimeout() { return idleTimeout; }
+    public void setIdleTimeout(Duration idleTimeout) { this.idleTimeout = idleTimeout; }
+
+    public Map<String, Group> getGroups() { return groups; }
+    public void setGroups(Map<String, Group> groups) { this.groups = groups; }
+
+    public static class Group {
+
+        /**
+         * Requests allowed per period, which is also the largest burst.
+         */
+        private int limit = 60;
+
+        private Duration period = Duration.ofMinutes(1);
+
+        private KeyBy keyBy = KeyBy.IP;
+
+        /**
+         * Endpoints keyed like the query budgets, "METHOD /uri/pattern", e.g. "GET /api/events/search".
+         */
+        private List<String> endpoints = new ArrayList<>();
+
+        public int getLimit() { return limit; }
+        public void setLimit(int limit) { this.limit = limit; }
+
+        public Duration getPeriod() { return period; }
+        public void setPeriod(Duration period) { this.period = period; }
+
+        public KeyBy getKeyBy() { return keyBy; }
+        public void setKeyBy(KeyBy keyBy) { this.keyBy = keyBy; }
+
+        public List<String> getEndpoints() { return endpoints; }
+        public void setEndpoints(List<String> endpoints) { this.endpoints = endpoints; }
+    }
+}
@@ -0,0 +1,124 @@
+package com.neu.nuboard.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Token buckets of {@code limit} requests per {@code period}, one per client key.
+ * <p>
+ * Each bucket is a single AtomicLong updated with compare-and-set (the generic cell rate algorithm): it holds the
+ * time at which the bucket will be full again, so refilling needs no timer and no lock, and a bucket costs one
+ * object per active client. Buckets live in a bounded Caffeine map and are dropped after being idle for a while;
+ * a dropped bucket is full anyway once it has been idle for a whole period.
+ */
+public class RateLimiter {
+
+    // A new bucket is full
+    private static final Function<String, AtomicLong> NEW_BUCKET = key -> new AtomicLong(Long.MIN_VALUE);
+
+    private final int limit;
+    // Time to earn back one request
+    private final long intervalNanos;
+    // How far ahead of now a bucket's full time may be, i.e. limit requests' worth of intervals
+    private final long capacityNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param limit requests allowed per period, also the burst size
+     * @param period the refill period
+     * @param maxKeys clients tracked at most; the least recently seen are dropped beyond it
+     * @param idleTimeout how long an unused bucket is kept; at least the period, so dropping one never resets it early
+     */
+    public RateLimiter(int limit, Duration period, long maxKeys, Duration idleTimeout) {
+        if (limit < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("limit and period must be positive");
+        }
+        this.limit = limit;
+        this.intervalNanos = Math.max(1, period.toNanos() / limit);
+        this.capacityNanos = intervalNanos * limit;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout.compareTo(period) > 0 ? idleTimeout : period)
+                .build();
+    }
+
+    /**
+     * Takes one request from the client's bucket, if there is one left.
+     * @param key The client key, e.g. a user ID or IP address.
+     * @return The decision, with the values for the RateLimit response headers.
+     */
+    public Decision tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    Decision tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.get(key, NEW_BUCKET);
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > capacityNanos) {
+                // Empty: the next request fits once the bucket has earned back one interval
+                return new Decision(false, limit, 0, full - now, ahead - capacityNanos);
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return new Decision(true, limit, (int) ((capacityNanos - ahead) / intervalNanos), ahead, 0);
+            }
+        }
+    }
+
+    /**
+     * @return The number of clients currently tracked (approximate).
+     */
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+
+    public int getLimit() { return limit; }
+
+    /**
+     * The outcome of {@link #tryAcquire(String)}.
+     */
+    public static final class Decision {
+        private final boolean allowed;
+        private final int limit;
+        private final int remaining;
+        private final long resetNanos;
+        private final long retryAfterNanos;
+
+        Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetNanos = resetNanos;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public boolean isAllowed() { return allowed; }
+
+        public int getLimit() { return limit; }
+
+        /**
+         * @return Requests left right now.
+         */
+        public int getRemaining() { return remaining; }
+
+        /**
+         * @return Seconds (rounded up) until the bucket is full again.
+         */
+        public long getResetSeconds() { return toSeconds(resetNanos); }
+
+        /**
+         * @return Seconds (rounded up) until a request would be allowed, 0 if it was allowed.
+         */
+        public long getRetryAfterSeconds() { return toSeconds(retryAfterNanos); }
+
+        private static long toSeconds(long nanos) {
+            return nanos <= 0 ? 0 : (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+-- The schema of the last release before migrations: the tables Hibernate's ddl-auto=update created from its entities,
+-- and the reference data of its data.sql. V2 upgrades it to the current schema.
+-- A database created by that release has these tables already: it is adopted at version 0 on its first start
+-- (spring.flyway.baseline-on-migrate), this migration finds everything in place and changes nothing, and V2 upgrades it.
+-- Never edit an applied migration; add the next version instead. Hibernate only validates the schema (ddl-auto=validate).
+
+CREATE TABLE IF NOT EXISTS locations (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS colleges (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id varchar(255) PRIMARY KEY,
+    college_id bigint NOT NULL REFERENCES colleges (id),
+    email varchar(255) NOT NULL UNIQUE,
+    location_id bigint NOT NULL REFERENCES locations (id),
+    program varchar(255) NOT NULL,
+    username varchar(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS event (
+    id varchar(255) PRIMARY KEY,
+    address varchar(255) NOT NULL,
+    creator_id varchar(255) NOT NULL,
+    description varchar(1024),
+    end_time timestamp(6) NOT NULL,
+    location bigint NOT NULL REFERENCES locations (id),
+    organizer_type varchar(255) NOT NULL CHECK (organizer_type IN ('SCHOOL', 'CORPORATE')),
+    start_time timestamp(6) NOT NULL,
+    title varchar(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS event_registration (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id varchar(255) NOT NULL REFERENCES event (id),
+    user_id varchar(255) NOT NULL REFERENCES users (id),
+    UNIQUE (event_id, user_id)
+);
+
+-- Reference data, served from memory by ReferenceDataRegistry
+INSERT INTO locations (name) VALUES ('Boston'), ('San Jose'), ('Seattle') ON CONFLICT (name) DO NOTHING;
+INSERT INTO colleges (name) VALUES ('College of Engineering'), ('Khoury College of Computer Sciences'), ('School of Law')
+ON CONFLICT (name) DO NOTHING;
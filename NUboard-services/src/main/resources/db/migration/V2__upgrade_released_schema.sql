@@ -0,0 +1,133 @@
+-- Upgrades the schema of the last release (V1) to the current one. Runs on new databases right after V1, and once on
+-- every database created by that release, which then holds data: existing IDs, registrations and seat counts are
+-- converted in place. ALTER COLUMN ... TYPE rewrites each table and rebuilds its indexes, so expect an exclusive lock
+-- for the duration of the rewrite.
+
+-- Named constraints. Hibernate created the foreign keys and unique constraints with generated names; drop them
+-- whatever they are called (foreign keys first, they depend on the keys) and add them back under stable names below.
+DO $$
+DECLARE
+    c record;
+BEGIN
+    FOR c IN SELECT conrelid::regclass AS tbl, conname FROM pg_constraint
+             WHERE conrelid IN ('locations'::regclass, 'colleges'::regclass, 'users'::regclass,
+                                'event'::regclass, 'event_registration'::regclass)
+               AND contype IN ('f', 'u')
+             ORDER BY contype
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', c.tbl, c.conname);
+    END LOOP;
+END $$;
+
+-- Event and user IDs become native uuid columns. Existing IDs are version 4 UUID strings and keep their values;
+-- only new rows get version 7 IDs. A no-op rewrite on a database already converted by hand.
+ALTER TABLE event ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE users ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE event_registration
+    ALTER COLUMN event_id TYPE uuid USING event_id::uuid,
+    ALTER COLUMN user_id TYPE uuid USING user_id::uuid;
+
+ALTER TABLE locations ADD CONSTRAINT uk_locations_name UNIQUE (name);
+ALTER TABLE colleges ADD CONSTRAINT uk_colleges_name UNIQUE (name);
+ALTER TABLE users
+    ADD CONSTRAINT uk_users_username UNIQUE (username),
+    ADD CONSTRAINT uk_users_email UNIQUE (email),
+    ADD CONSTRAINT fk_users_location FOREIGN KEY (location_id) REFERENCES locations (id),
+    ADD CONSTRAINT fk_users_college FOREIGN KEY (college_id) REFERENCES colleges (id);
+ALTER TABLE event ADD CONSTRAINT fk_event_location FOREIGN KEY (location) REFERENCES locations (id);
+-- The same user cannot register for the same event twice; also serves every lookup by event_id
+ALTER TABLE event_registration
+    ADD CONSTRAINT uk_event_registration_event_user UNIQUE (event_id, user_id),
+    ADD CONSTRAINT fk_event_registration_event FOREIGN KEY (event_id) REFERENCES event (id),
+    ADD CONSTRAINT fk_event_registration_user FOREIGN KEY (user_id) REFERENCES users (id);
+
+-- Keyset pagination (GET /api/events?limit=...) and the archive job's scan for past events
+CREATE INDEX IF NOT EXISTS idx_event_start_time_id ON event (start_time, id);
+-- Time windows filtered by location or organizer type (GET /api/events/window, /upcoming)
+CREATE INDEX IF NOT EXISTS idx_event_location_start_time ON event (location, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_event_organizer_type_start_time ON event (organizer_type, start_time, id);
+
+-- Registration status and waitlist. Registrations made before capacities existed all hold a seat.
+ALTER TABLE event_registration
+    ADD COLUMN IF NOT EXISTS status varchar(16) NOT NULL DEFAULT 'REGISTERED',
+    ADD COLUMN IF NOT EXISTS created_at timestamp(6) NOT NULL DEFAULT now(),
+    ADD COLUMN IF NOT EXISTS updated_at timestamp(6) NOT NULL DEFAULT now();
+-- Finds the head of an event's waitlist without sorting
+CREATE INDEX IF NOT EXISTS idx_event_registration_waitlist ON event_registration (event_id, status, created_at);
+
+-- event_registration.id moves from IDENTITY to a sequence pooled by Hibernate (allocationSize = 50 in
+-- EventRegistration), so the increment must match. Moves the sequence past the IDs the identity column handed out.
+ALTER TABLE event_registration ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS event_registration_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('event_registration_seq', max(id) + 50) FROM event_registration HAVING max(id) IS NOT NULL;
+
+-- Seat capacity (null for no limit) and the counter of seats taken, backfilled from the existing registrations
+ALTER TABLE event
+    ADD COLUMN IF NOT EXISTS capacity integer,
+    ADD COLUMN IF NOT EXISTS registered_count integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS updated_at timestamp(6) NOT NULL DEFAULT now();
+UPDATE event e SET registered_count = r.seats
+FROM (SELECT event_id, count(*) AS seats FROM event_registration WHERE status = 'REGISTERED' GROUP BY event_id) r
+WHERE e.id = r.event_id;
+
+-- Change feed for GET /api/events/changes. Every statement that writes an event row takes the next
+-- change_seq and records the writing transaction in change_xid (see EventRepository.TRACK_CHANGE),
+-- and deleted events leave a tombstone. Adding the columns fills existing rows from the defaults.
+CREATE SEQUENCE IF NOT EXISTS nuboard_change_seq;
+ALTER TABLE event
+    ADD COLUMN IF NOT EXISTS change_seq bigint NOT NULL DEFAULT nextval('nuboard_change_seq'),
+    ADD COLUMN IF NOT EXISTS change_xid bigint NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint);
+CREATE INDEX IF NOT EXISTS idx_event_change_xid ON event (change_xid, change_seq);
+
+CREATE TABLE IF NOT EXISTS event_tombstone (
+    event_id uuid PRIMARY KEY,
+    change_seq bigint NOT NULL DEFAULT nextval('nuboard_change_seq'),
+    change_xid bigint NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint),
+    deleted_at timestamp(6) NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idx_event_tombstone_change_xid ON event_tombstone (change_xid, change_seq);
+
+-- Full-text search. A stored generated column keeps the vector in sync on every INSERT and UPDATE
+-- without any application code; title matches rank above description matches.
+ALTER TABLE event ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_event_search_vector ON event USING GIN (search_vector);
+
+-- Event archive. Events that ended more than nuboard.archive.retention ago are moved here with their registrations
+-- by EventArchiveService, so event, event_registration and their indexes only hold the recent and upcoming events.
+-- Both tables are range partitioned by month of the event's start time; registrations carry it as event_start_time,
+-- so an event and its registrations sit in the partitions of the same month. The archive job creates the partitions
+-- (event_archive_YYYY_MM, event_registration_archive_YYYY_MM).
+CREATE TABLE IF NOT EXISTS event_archive (
+    id uuid NOT NULL,
+    title varchar(255) NOT NULL,
+    description varchar(1024),
+    start_time timestamp(6) NOT NULL,
+    end_time timestamp(6) NOT NULL,
+    location bigint NOT NULL,
+    address varchar(255) NOT NULL,
+    creator_id varchar(255) NOT NULL,
+    organizer_type varchar(255) NOT NULL,
+    capacity integer,
+    registered_count integer NOT NULL,
+    archived_at timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (start_time, id)
+) PARTITION BY RANGE (start_time);
+CREATE INDEX IF NOT EXISTS idx_event_archive_id ON event_archive (id);
+CREATE INDEX IF NOT EXISTS idx_event_archive_location_start_time ON event_archive (location, start_time, id);
+
+CREATE TABLE IF NOT EXISTS event_registration_archive (
+    id bigint NOT NULL,
+    event_id uuid NOT NULL,
+    event_start_time timestamp(6) NOT NULL,
+    user_id uuid NOT NULL,
+    status varchar(16) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    PRIMARY KEY (event_start_time, id)
+) PARTITION BY RANGE (event_start_time);
+CREATE INDEX IF NOT EXISTS idx_event_registration_archive_event ON event_registration_archive (event_start_time, event_id);
+CREATE INDEX IF NOT EXISTS idx_event_registration_archive_user ON event_registration_archive (user_id);
@@ -0,0 +1,16 @@
+-- Indexes for the repository queries that V2 left without one. Each index is named after the query it serves;
+-- columns no query filters on (e.g. event.creator_id, users.location_id) get none, as every index slows down writes.
+-- IF NOT EXISTS, so an upgraded database that already has one of them by hand still migrates.
+
+-- EventRegistrationRepository.findByUserId, findEventIdsByUserId, findRegisteredEventIds (user_id = ? AND event_id IN ...),
+-- and the registrations of GET /api/registrations/user/{userId}. The unique (event_id, user_id) cannot serve them.
+CREATE INDEX IF NOT EXISTS idx_event_registration_user_event ON event_registration (user_id, event_id);
+
+-- UserRepository.findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCase: LOWER(...) LIKE '%keyword%'
+-- has no left-anchored prefix, so a B-tree cannot help; trigram GIN indexes can, one per side of the OR.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_users_username_trgm ON users USING GIN (lower(username) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING GIN (lower(email) gin_trgm_ops);
+
+-- EventRepository.deleteTombstonesBefore, run every hour by EventService.purgeTombstones
+CREATE INDEX IF NOT EXISTS idx_event_tombstone_deleted_at ON event_tombstone (deleted_at);
@@ -0,0 +1,101 @@
+package com.neu.nuboard;
+
+import com.neu.nuboard.dto.BulkRegistrationRequestDTO;
+import com.neu.nuboard.dto.EventCreateDTO;
+import com.neu.nuboard.dto.EventResponseDTO;
+import com.neu.nuboard.dto.UserCreateDTO;
+import com.neu.nuboard.model.User;
+import com.neu.nuboard.service.EventRegistrationService;
+import com.neu.nuboard.service.EventService;
+import com.neu.nuboard.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Base class for tests of the whole application against a real PostgreSQL, which the native queries,
+ * row locks and full-text search need. The container is started once and shared by every test class,
+ * and the schema comes from the Flyway migrations, as in production.
+ * <p>
+ * Test classes share the database, so each test creates its own users and events
+ * and never assumes a table to be empty.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    // Boston in the reference data of V1__baseline.sql
+    protected static final long LOCATION_ID = 1L;
+    protected static final long COLLEGE_ID = 1L;
+
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @Autowired
+    protected EventService eventService;
+
+    @Autowired
+    protected UserService userService;
+
+    @Autowired
+    protected EventRegistrationService registrationService;
+
+    /**
+     * Creates a user with a unique name.
+     */
+    protected User createUser() {
+        String name = "user-" + UUID.randomUUID();
+        UserCreateDTO dto = new UserCreateDTO();
+        dto.setUsername(name);
+        dto.setEmail(name + "@example.com");
+        dto.setProgram("MSCS");
+        dto.setLocationId(LOCATION_ID);
+        dto.setCollegeId(COLLEGE_ID);
+        return userService.createUser(dto);
+    }
+
+    /**
+     * Creates an upcoming event.
+     * @param capacity The number of seats, or null for no limit.
+     */
+    protected EventResponseDTO createEvent(Integer capacity) {
+        EventCreateDTO dto = new EventCreateDTO();
+        dto.setTitle("Event " + UUID.randomUUID());
+        dto.setDescription("Created by a test");
+        dto.setStartTime("2030-01-01T10:00:00");
+        dto.setEndTime("2030-01-01T12:00:00");
+        dto.setLocationId(LOCATION_ID);
+        dto.setAddress("360 Huntington Ave");
+        dto.setCreatorId("test");
+        dto.setOrganizerType("SCHOOL");
+        dto.setCapacity(capacity);
+        return eventService.createEvent(dto);
+    }
+
+    /**
+     * Creates events without a seat limit and registers the same new users for every one of them.
+     */
+    protected List<EventResponseDTO> seedEventsWithRegistrations(int events, int usersPerEvent) {
+        List<EventResponseDTO> created = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            created.add(createEvent(null));
+        }
+        List<String> eventIds = created.stream().map(EventResponseDTO::getId).collect(Collectors.toList());
+        for (int i = 0; i < usersPerEvent; i++) {
+            BulkRegistrationRequestDTO request = new BulkRegistrationRequestDTO();
+            request.setUserId(createUser().getId().toString());
+            request.setEventIds(eventIds);
+            registrationService.bulkRegister(request);
+        }
+        return created;
+    }
+}
@@ -0,0 +1,105 @@
+package com.neu.nuboard;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database created by the last release before migrations (Hibernate ddl-auto=update, varchar IDs, identity
+ * registration IDs, generated constraint names) is adopted and upgraded in place by the migrations on its first start.
+ * Runs against its own database in the shared container, so the application's schema is left alone.
+ */
+class ReleasedSchemaUpgradeTest extends PostgresIntegrationTest {
+
+    private static final String EVENT_ID = "0b7e3c5e-6f1d-4a57-9a8e-3f2f1e0c9d11";
+    private static final String FIRST_USER_ID = "5d2f7a40-1c3b-4e8f-b6a2-7c9d0e1f2a33";
+    private static final String SECOND_USER_ID = "9a1b2c3d-4e5f-4a6b-8c7d-0e1f2a3b4c55";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void releasedDatabaseIsUpgradedWithItsData() {
+        JdbcTemplate released = new JdbcTemplate(createDatabase());
+        createReleasedSchema(released);
+        released.update("INSERT INTO users (id, college_id, email, location_id, program, username) VALUES "
+                + "(?, 1, 'a@example.com', 1, 'MSCS', 'a'), (?, 1, 'b@example.com', 1, 'MSCS', 'b')",
+                FIRST_USER_ID, SECOND_USER_ID);
+        released.update("INSERT INTO event (id, address, creator_id, end_time, location, organizer_type, start_time, title) "
+                + "VALUES (?, '360 Huntington Ave', 'a', '2030-01-01 12:00', 1, 'SCHOOL', '2030-01-01 10:00', 'Launch')",
+                EVENT_ID);
+        released.update("INSERT INTO event_registration (id, event_id, user_id) VALUES (7, ?, ?), (120, ?, ?)",
+                EVENT_ID, FIRST_USER_ID, EVENT_ID, SECOND_USER_ID);
+
+        MigrateResult result = Flyway.configure()
+                .dataSource(released.getDataSource())
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.initialSchemaVersion).isEqualTo("0");
+        assertThat(result.migrationsExecuted).isEqualTo(3);
+        assertThat(released.queryForObject("SELECT data_type FROM information_schema.columns "
+                + "WHERE table_name = 'event' AND column_name = 'id'", String.class)).isEqualTo("uuid");
+        assertThat(released.queryForObject("SELECT registered_count FROM event WHERE id = ?::uuid", Integer.class, EVENT_ID))
+                .isEqualTo(2);
+        assertThat(released.queryForObject("SELECT count(*) FROM event_registration WHERE status = 'REGISTERED'", Integer.class))
+                .isEqualTo(2);
+        // Hibernate takes a block of 50 IDs from each value, so the first new ID is 49 below it
+        assertThat(released.queryForObject("SELECT nextval('event_registration_seq')", Long.class) - 49).isGreaterThan(120);
+        assertThat(released.queryForObject("SELECT count(*) FROM pg_constraint WHERE conname IN "
+                + "('uk_event_registration_event_user', 'fk_event_registration_event', 'fk_event_registration_user')",
+                Integer.class)).isEqualTo(3);
+        assertThat(released.queryForObject("SELECT count(*) FROM locations", Integer.class)).isEqualTo(3);
+    }
+
+    private DataSource createDatabase() {
+        String name = "released_" + Long.toHexString(System.nanoTime());
+        jdbcTemplate.execute("CREATE DATABASE " + name);
+        return new DriverManagerDataSource(
+                "jdbc:postgresql://" + POSTGRES.getHost() + ":" + POSTGRES.getMappedPort(5432) + "/" + name,
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    /**
+     * The tables as Hibernate's ddl-auto=update created them from the released entities, and its data.sql.
+     */
+    private static void createReleasedSchema(JdbcTemplate released) {
+        released.execute("CREATE TABLE colleges (id bigint GENERATED BY DEFAULT AS IDENTITY, name varchar(255) NOT NULL, "
+                + "PRIMARY KEY (id))");
+        released.execute("CREATE TABLE locations (id bigint GENERATED BY DEFAULT AS IDENTITY, name varchar(255) NOT NULL, "
+                + "PRIMARY KEY (id))");
+        released.execute("CREATE TABLE users (id varchar(255) NOT NULL, college_id bigint NOT NULL, email varchar(255) NOT NULL, "
+                + "location_id bigint NOT NULL, program varchar(255) NOT NULL, username varchar(255) NOT NULL, PRIMARY KEY (id))");
+        released.execute("CREATE TABLE event (id varchar(255) NOT NULL, address varchar(255) NOT NULL, "
+                + "creator_id varchar(255) NOT NULL, description varchar(1024), end_time timestamp(6) NOT NULL, "
+                + "location bigint NOT NULL, organizer_type varchar(255) NOT NULL "
+                + "CHECK (organizer_type IN ('SCHOOL', 'CORPORATE')), start_time timestamp(6) NOT NULL, "
+                + "title varchar(255) NOT NULL, PRIMARY KEY (id))");
+        released.execute("CREATE TABLE event_registration (id bigint GENERATED BY DEFAULT AS IDENTITY, "
+                + "event_id varchar(255) NOT NULL, user_id varchar(255) NOT NULL, PRIMARY KEY (id))");
+        released.execute("ALTER TABLE colleges ADD CONSTRAINT UK_hb7k2r0a1wq9 UNIQUE (name)");
+        released.execute("ALTER TABLE locations ADD CONSTRAINT UK_n5q0t3m8ve1x UNIQUE (name)");
+        released.execute("ALTER TABLE users ADD CONSTRAINT UK_r43af9ap4edm UNIQUE (username)");
+        released.execute("ALTER TABLE users ADD CONSTRAINT UK_6dotkott2kjs UNIQUE (email)");
+        released.execute("ALTER TABLE event_registration ADD CONSTRAINT UKc1x8mi2yoy4g UNIQUE (event_id, user_id)");
+        released.execute("ALTER TABLE users ADD CONSTRAINT FKp7c2k1o9vd0a FOREIGN KEY (college_id) REFERENCES colleges");
+        released.execute("ALTER TABLE users ADD CONSTRAINT FK4m3e8s2l1c0q FOREIGN KEY (location_id) REFERENCES locations");
+        released.execute("ALTER TABLE event ADD CONSTRAINT FKg9s6d4kx2h1b FOREIGN KEY (location) REFERENCES locations");
+        released.execute("ALTER TABLE event_registration ADD CONSTRAINT FK8vt3y7mufd2c FOREIGN KEY (event_id) REFERENCES event");
+        released.execute("ALTER TABLE event_registration ADD CONSTRAINT FKqw1t6n0e5ra9 FOREIGN KEY (user_id) REFERENCES users");
+        released.execute("INSERT INTO locations (name) VALUES ('Boston'), ('San Jose'), ('Seattle')");
+        released.execute("INSERT INTO colleges (name) VALUES ('College of Engineering'), "
+                + "('Khoury College of Computer Sciences'), ('School of Law')");
+    }
+}
@@ -0,0 +1,48 @@
+package com.neu.nuboard.controller;
+
+import com.neu.nuboard.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.neu.nuboard.monitoring.QueryBudgetMatchers.statementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The event read endpoints stay within the statement budgets of nuboard.query-budget.endpoints
+ * with little and with much data, i.e. they have no N+1.
+ */
+@AutoConfigureMockMvc
+class EventControllerQueryBudgetTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void eventPageStaysWithinItsBudget() throws Exception {
+        seedEventsWithRegistrations(3, 2);
+        mockMvc.perform(get("/api/events").param("limit", "50").param("locationId", String.valueOf(LOCATION_ID)))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(3));
+
+        seedEventsWithRegistrations(60, 5);
+        mockMvc.perform(get("/api/events").param("limit", "50").param("locationId", String.valueOf(LOCATION_ID)))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(3));
+    }
+
+    @Test
+    void eventStaysWithinItsBudget() throws Exception {
+        String few = seedEventsWithRegistrations(1, 1).get(0).getId();
+        String many = seedEventsWithRegistrations(1, 40).get(0).getId();
+
+        mockMvc.perform(get("/api/events/{id}", few))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+        mockMvc.perform(get("/api/events/{id}", many))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+    }
+}
@@ -0,0 +1,113 @@
+package com.neu.nuboard.datasource;
+
+import com.neu.nuboard.monitoring.QueryCountListener;
+import com.neu.nuboard.monitoring.QueryCounting;
+import com.neu.nuboard.monitoring.QueryStats;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The per-shard work of a scatter/gather runs on the router's threads but counts for the statement budget
+ * of the request that started it. No database is needed: the statements are reported to the listener directly.
+ */
+class ShardRouterTest {
+
+    private final QueryCountListener listener = new QueryCountListener();
+
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        Map<String, ShardingProperties.Shard> shards = new LinkedHashMap<>();
+        shards.put("west", shard(2L));
+        shards.put("east", shard(3L));
+        properties.setShards(shards);
+        router = new ShardRouter(properties, new NoOpTransactionManager());
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.destroy();
+    }
+
+    @Test
+    void gatherCountsTheStatementsOfEveryShard() {
+        QueryStats stats = QueryCounting.count(() -> router.gather(shard -> {
+            executeStatements(2);
+            return List.of(shard);
+        }, Comparator.naturalOrder()));
+
+        assertThat(stats.getStatements()).isEqualTo(2 * router.getShards().size());
+    }
+
+    @Test
+    void onEveryShardCountsTheStatementsOfEveryShard() {
+        QueryStats stats = QueryCounting.count(() -> router.onEveryShard(false, shard -> {
+            executeStatements(1);
+            return shard;
+        }));
+
+        assertThat(stats.getStatements()).isEqualTo(router.getShards().size());
+    }
+
+    @Test
+    void workOutsideACollectingRequestIsNotCounted() {
+        QueryStats stats = QueryCounting.count(() -> executeStatements(1));
+        router.gather(shard -> {
+            executeStatements(1);
+            return List.of(shard);
+        }, Comparator.naturalOrder());
+
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(QueryStats.current()).isNull();
+    }
+
+    private void executeStatements(int count) {
+        for (int i = 0; i < count; i++) {
+            listener.afterQuery(new ExecutionInfo(), List.of());
+        }
+    }
+
+    private static ShardingProperties.Shard shard(Long location) {
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setLocations(List.of(location));
+        return shard;
+    }
+
+    /**
+     * Transactions that do nothing, enough for the router to bind its shards.
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
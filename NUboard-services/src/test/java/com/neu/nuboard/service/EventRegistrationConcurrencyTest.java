@@ -0,0 +1,159 @@
+package com.neu.nuboard.service;
+
+import com.neu.nuboard.PostgresIntegrationTest;
+import com.neu.nuboard.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registrations and unregistrations racing for the seats of a small event must keep the seat counter exact,
+ * never oversell the event, and never leave anybody waitlisted while a seat is free. Hundreds of users registering
+ * at once fill the seats and queue the rest, and freed seats go to the waitlist in order.
+ */
+class EventRegistrationConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int CAPACITY = 3;
+    private static final int USERS = 12;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 150;
+    private static final int REGISTRANTS = 300;
+    private static final int PROMOTIONS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void seatsStayConsistentUnderConcurrentRegistrationsAndUnregistrations() throws Exception {
+        UUID eventId = UUID.fromString(createEvent(CAPACITY).getId());
+        List<String> userIds = IntStream.range(0, USERS)
+                .mapToObj(i -> createUser().getId().toString())
+                .toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        String userId = userIds.get(random.nextInt(USERS));
+                        try {
+                            if (random.nextBoolean()) {
+                                registrationService.registerForEvent(eventId.toString(), userId);
+                            } else {
+                                registrationService.unregisterForEvent(eventId.toString(), userId);
+                            }
+                        } catch (BusinessException e) {
+                            // Already registered, or not registered: expected, the threads share the users
+                        }
+                        if (i % 10 == 0) {
+                            assertSeatsConsistent(eventId);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertSeatsConsistent(eventId);
+    }
+
+    @Test
+    void simultaneousRegistrantsFillTheSeatsAndWaitlistTheRestInOrder() throws Exception {
+        UUID eventId = UUID.fromString(createEvent(CAPACITY).getId());
+        List<String> userIds = IntStream.range(0, REGISTRANTS)
+                .mapToObj(i -> createUser().getId().toString())
+                .toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(REGISTRANTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> registrants = new ArrayList<>();
+        try {
+            for (String userId : userIds) {
+                registrants.add(executor.submit(() -> {
+                    start.await();
+                    return registrationService.registerForEvent(eventId.toString(), userId);
+                }));
+            }
+            start.countDown();
+            for (Future<?> registrant : registrants) {
+                registrant.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT e.registered_count, " +
+                "       count(r.id) FILTER (WHERE r.status = 'REGISTERED') AS registered, " +
+                "       count(r.id) FILTER (WHERE r.status = 'WAITLISTED') AS waitlisted " +
+                "FROM event e JOIN event_registration r ON r.event_id = e.id " +
+                "WHERE e.id = ? GROUP BY e.id", eventId);
+        assertThat(((Number) row.get("registered_count")).intValue()).as("registered_count").isEqualTo(CAPACITY);
+        assertThat(((Number) row.get("registered")).intValue()).as("registered users").isEqualTo(CAPACITY);
+        assertThat(((Number) row.get("waitlisted")).intValue()).as("waitlisted users").isEqualTo(REGISTRANTS - CAPACITY);
+
+        // Every freed seat goes to the user at the head of the waitlist
+        List<String> waitlist = usersWithStatus(eventId, "WAITLISTED");
+        List<String> seated = usersWithStatus(eventId, "REGISTERED");
+        for (int i = 0; i < PROMOTIONS; i++) {
+            registrationService.unregisterForEvent(eventId.toString(), seated.get(i));
+        }
+        assertThat(usersWithStatus(eventId, "REGISTERED")).containsAll(waitlist.subList(0, PROMOTIONS));
+        assertThat(usersWithStatus(eventId, "WAITLISTED")).isEqualTo(waitlist.subList(PROMOTIONS, waitlist.size()));
+        assertSeatsConsistent(eventId);
+    }
+
+    /**
+     * @return The users with a registration in the given status, in waitlist order.
+     */
+    private List<String> usersWithStatus(UUID eventId, String status) {
+        return jdbcTemplate.queryForList(
+                "SELECT CAST(user_id AS text) FROM event_registration WHERE event_id = ? AND status = ? " +
+                "ORDER BY created_at, id", String.class, eventId, status);
+    }
+
+    /**
+     * Reads the counter and the registrations in one statement, so the check sees a single committed state
+     * even while other transactions keep changing them.
+     */
+    private void assertSeatsConsistent(UUID eventId) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT e.registered_count, " +
+                "       count(r.id) FILTER (WHERE r.status = 'REGISTERED') AS registered, " +
+                "       count(r.id) FILTER (WHERE r.status = 'WAITLISTED') AS waitlisted " +
+                "FROM event e LEFT JOIN event_registration r ON r.event_id = e.id " +
+                "WHERE e.id = ? GROUP BY e.id", eventId);
+        long counter = ((Number) row.get("registered_count")).longValue();
+        long registered = ((Number) row.get("registered")).longValue();
+        long waitlisted = ((Number) row.get("waitlisted")).longValue();
+
+        assertThat(counter).as("registered_count").isEqualTo(registered);
+        assertThat(registered).as("registered users").isLessThanOrEqualTo(CAPACITY);
+        if (registered < CAPACITY) {
+            assertThat(waitlisted).as("users waitlisted while a seat is free").isZero();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.neu.nuboard.service;
+
+import com.neu.nuboard.PostgresIntegrationTest;
+import com.neu.nuboard.dto.EventPageDTO;
+import com.neu.nuboard.dto.EventResponseDTO;
+import com.neu.nuboard.monitoring.QueryCounting;
+import com.neu.nuboard.monitoring.QueryStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The event read paths load registrations with one batched IN query instead of one query per event,
+ * so they take the same number of statements whether they return a few events or many:
+ * one for the events and one for all of their registrations.
+ */
+class EventServiceQueryCountTest extends PostgresIntegrationTest {
+
+    @Test
+    void listingAllEventsTakesTwoStatementsWhateverTheNumberOfEvents() {
+        seedEventsWithRegistrations(3, 2);
+        expectStatements(2, () -> eventService.getAllEvents());
+
+        seedEventsWithRegistrations(60, 5);
+        List<EventResponseDTO> events = expectStatements(2, () -> eventService.getAllEvents());
+        assertThat(events).hasSizeGreaterThanOrEqualTo(63);
+    }
+
+    @Test
+    void aPageOfEventsTakesTwoStatementsWhateverItsSize() {
+        seedEventsWithRegistrations(60, 3);
+
+        expectStatements(2, () -> eventService.getEventPage(null, 5, LOCATION_ID, null, null, null));
+        EventPageDTO page = expectStatements(2, () -> eventService.getEventPage(null, 50, LOCATION_ID, null, null, null));
+        assertThat(page.getEvents()).hasSize(50);
+    }
+
+    @Test
+    void anEventTakesTwoStatementsWhateverItsNumberOfRegistrations() {
+        String few = seedEventsWithRegistrations(1, 1).get(0).getId();
+        String many = seedEventsWithRegistrations(1, 40).get(0).getId();
+
+        assertThat(expectStatements(2, () -> eventService.getEventById(few)).getRegistrations()).hasSize(1);
+        assertThat(expectStatements(2, () -> eventService.getEventById(many)).getRegistrations()).hasSize(40);
+        // Served from the event cache the second time
+        expectStatements(0, () -> eventService.getEventById(many));
+    }
+
+    /**
+     * Runs the work and checks the number of SQL statements it executed.
+     * @return The result of the work.
+     */
+    private static <T> T expectStatements(int expected, Supplier<T> work) {
+        AtomicReference<T> result = new AtomicReference<>();
+        QueryStats stats = QueryCounting.count(() -> result.set(work.get()));
+        assertThat(stats.getStatements()).as("SQL statements").isEqualTo(expected);
+        return result.get();
+    }
+}
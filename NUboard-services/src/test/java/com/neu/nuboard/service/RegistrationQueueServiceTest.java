@@ -0,0 +1,169 @@
+package com.neu.nuboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.neu.nuboard.dto.BulkRegistrationRequestDTO;
+import com.neu.nuboard.dto.BulkRegistrationResultDTO;
+import com.neu.nuboard.dto.EventRegistrationDTO;
+import com.neu.nuboard.dto.RegistrationTicketDTO;
+import com.neu.nuboard.dto.RegistrationTicketDTO.State;
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import com.neu.nuboard.model.EventRegistration.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The queue in front of {@link EventRegistrationService}, which is mocked: no database is needed.
+ * Stopping the queue drains it and waits for the flusher, so the outcomes are final once stop() returns.
+ */
+class RegistrationQueueServiceTest {
+
+    private static final String EVENT_ID = UUID.randomUUID().toString();
+
+    private final EventRegistrationService registrationService = mock(EventRegistrationService.class);
+
+    private RegistrationQueueService queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    void aRetriedRegistrationGetsTheSameTicket() {
+        // Keeps the registrations pending even if the flusher picks them up
+        CountDownLatch release = new CountDownLatch(1);
+        when(registrationService.bulkRegister(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        queue = start(16, Duration.ofHours(1));
+
+        RegistrationTicketDTO first = queue.enqueue(EVENT_ID, "6a1f3c1e-2b0d-4c8e-9f7a-5d4e3c2b1a01");
+        RegistrationTicketDTO retry = queue.enqueue(EVENT_ID, "6a1f3c1e-2b0d-4c8e-9f7a-5d4e3c2b1a01");
+        RegistrationTicketDTO other = queue.enqueue(EVENT_ID, "6a1f3c1e-2b0d-4c8e-9f7a-5d4e3c2b1a02");
+
+        assertThat(first.getState()).isEqualTo(State.PENDING);
+        assertThat(retry.getTicket()).isEqualTo(first.getTicket());
+        assertThat(other.getTicket()).isNotEqualTo(first.getTicket());
+        release.countDown();
+    }
+
+    @Test
+    void aFullQueueRejectsWithoutKeepingTheRejectedTicket() throws Exception {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(registrationService.bulkRegister(any())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        queue = start(2, Duration.ofMillis(1));
+
+        // The flusher takes the first registration and blocks in the write; the next two fill the queue (capacity 2)
+        queue.enqueue(EVENT_ID, UUID.randomUUID().toString());
+        assertThat(flushing.await(10, TimeUnit.SECONDS)).isTrue();
+        queue.enqueue(EVENT_ID, UUID.randomUUID().toString());
+        queue.enqueue(EVENT_ID, UUID.randomUUID().toString());
+        String rejectedUser = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> queue.enqueue(EVENT_ID, rejectedUser))
+                .isInstanceOfSatisfying(BusinessException.class, e -> {
+                    assertThat(e.getErrorCode()).isEqualTo(ErrorCode.REGISTRATION_QUEUE_FULL);
+                    assertThat(e.getErrorCode().getHttpStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                });
+        // The one being written and the two queued; nothing of the rejected one
+        assertThat(pending()).hasSize(3);
+        assertThat(tickets().asMap()).hasSize(3);
+        assertThat(pending().keySet()).noneMatch(key -> key.endsWith(rejectedUser));
+
+        release.countDown();
+        queue.stop();
+        assertThat(pending()).isEmpty();
+    }
+
+    @Test
+    void stoppingWritesTheQueuedRegistrations() {
+        writesEveryRegistration();
+        queue = start(16, Duration.ofHours(1));
+        List<RegistrationTicketDTO> queued = List.of(
+                queue.enqueue(EVENT_ID, UUID.randomUUID().toString()),
+                queue.enqueue(EVENT_ID, UUID.randomUUID().toString()),
+                queue.enqueue(EVENT_ID, UUID.randomUUID().toString()));
+
+        queue.stop();
+
+        for (RegistrationTicketDTO ticket : queued) {
+            assertThat(queue.getTicket(ticket.getTicket()).getState()).isEqualTo(State.REGISTERED);
+        }
+        assertThat(pending()).isEmpty();
+    }
+
+    @Test
+    void aGroupThatRacedASynchronousRegistrationIsWrittenOneByOne() {
+        String registered = UUID.randomUUID().toString();
+        String raced = UUID.randomUUID().toString();
+        when(registrationService.bulkRegister(any())).thenThrow(new BusinessException(ErrorCode.ALREADY_REGISTERED));
+        doThrow(new BusinessException(ErrorCode.ALREADY_REGISTERED))
+                .when(registrationService).registerForEvent(eq(EVENT_ID), anyString());
+        doReturn(new EventRegistrationDTO(1L, EVENT_ID, registered, Status.REGISTERED))
+                .when(registrationService).registerForEvent(EVENT_ID, registered);
+        queue = start(16, Duration.ofHours(1));
+
+        RegistrationTicketDTO first = queue.enqueue(EVENT_ID, registered);
+        RegistrationTicketDTO second = queue.enqueue(EVENT_ID, raced);
+        queue.stop();
+
+        assertThat(queue.getTicket(first.getTicket()).getState()).isEqualTo(State.REGISTERED);
+        assertThat(queue.getTicket(second.getTicket()).getState()).isEqualTo(State.ALREADY_REGISTERED);
+    }
+
+    private RegistrationQueueService start(int capacity, Duration flushInterval) {
+        RegistrationQueueService service = new RegistrationQueueService(registrationService, new SimpleMeterRegistry(),
+                capacity, 500, flushInterval, Duration.ofMinutes(15), Duration.ofSeconds(10));
+        service.start();
+        return service;
+    }
+
+    private void writesEveryRegistration() {
+        when(registrationService.bulkRegister(any())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+    }
+
+    private static List<BulkRegistrationResultDTO> created(BulkRegistrationRequestDTO request) {
+        return request.getUserIds().stream()
+                .map(userId -> new BulkRegistrationResultDTO(request.getEventId(), userId,
+                        BulkRegistrationResultDTO.Result.CREATED, Status.REGISTERED))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> pending() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(queue, "pending");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, ?> tickets() {
+        return (Cache<String, ?>) ReflectionTestUtils.getField(queue, "tickets");
+    }
+}
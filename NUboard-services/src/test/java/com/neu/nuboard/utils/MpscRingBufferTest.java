@@ -0,0 +1,152 @@
+package com.neu.nuboard.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The buffer behind the access log, the live stream inbox and the registration queue. The stress tests use a small
+ * buffer so the positions wrap around thousands of times while producers race each other and the consumer.
+ */
+class MpscRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 200_000;
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepTheirOrder() throws Exception {
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> producers = new ArrayList<>();
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                long producer = p;
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    for (long seq = 0; seq < PER_PRODUCER; seq++) {
+                        // The element says who produced it and in which order
+                        while (!buffer.offer(producer * PER_PRODUCER + seq)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            // Next expected sequence number of each producer: an element lost, duplicated or reordered breaks it
+            long[] expected = new long[PRODUCERS];
+            long received = 0;
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+            while (received < (long) PRODUCERS * PER_PRODUCER) {
+                assertThat(System.nanoTime()).as("drained in time").isLessThan(deadline);
+                received += buffer.drain(element -> {
+                    int producer = (int) (element / PER_PRODUCER);
+                    assertThat(element % PER_PRODUCER).as("next element of producer %d", producer)
+                            .isEqualTo(expected[producer]);
+                    expected[producer]++;
+                }, 32);
+                assertThat(buffer.size()).isBetween(0, buffer.capacity());
+            }
+            for (Future<?> producer : producers) {
+                producer.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(expected).containsOnly(PER_PRODUCER);
+            assertThat(buffer.drain(element -> { }, Integer.MAX_VALUE)).isZero();
+            assertThat(buffer.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentProducersFillExactlyTheCapacity() throws Exception {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        // Nothing is drained, so offers may only fail once every slot is taken
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> producers = new ArrayList<>();
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    int added = 0;
+                    while (buffer.offer(added)) {
+                        added++;
+                    }
+                    return added;
+                }));
+            }
+            start.countDown();
+            int added = 0;
+            for (Future<Integer> producer : producers) {
+                added += producer.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(added).isEqualTo(buffer.capacity());
+            assertThat(buffer.size()).isEqualTo(buffer.capacity());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void offerFailsOnlyWhenFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(5);
+        assertThat(buffer.capacity()).isEqualTo(8);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(8)).isFalse();
+
+        assertThat(buffer.drain(element -> { }, 3)).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(3)).isFalse();
+    }
+
+    @Test
+    void sizeAndOrderHoldAcrossWrapAround() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        ArrayDeque<Integer> model = new ArrayDeque<>();
+        int next = 0;
+        // Uneven offer and drain counts move the head and tail through every slot many times
+        for (int round = 0; round < 1000; round++) {
+            int offers = round % 7 + 1;
+            for (int i = 0; i < offers; i++) {
+                boolean added = buffer.offer(next);
+                assertThat(added).isEqualTo(model.size() < 8);
+                if (added) {
+                    model.addLast(next);
+                }
+                next++;
+            }
+            assertThat(buffer.size()).isEqualTo(model.size());
+
+            List<Integer> drained = new ArrayList<>();
+            buffer.drain(drained::add, round % 5 + 1);
+            for (Integer element : drained) {
+                assertThat(element).isEqualTo(model.pollFirst());
+            }
+            assertThat(buffer.size()).isEqualTo(model.size());
+        }
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThatThrownBy(() -> new MpscRingBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,185 @@
+package com.neu.nuboard.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neu.nuboard.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The filter in front of a fake handler that counts how often it runs, so no application context is needed.
+ */
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"title\":\"Launch\"}";
+
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    void aRetryIsReplayedWithoutRunningAgain() throws Exception {
+        IdempotencyFilter filter = filter(DataSize.ofMegabytes(1));
+        FilterChain handler = created();
+
+        MockHttpServletResponse first = perform(filter, request("key-1", BODY, "10.0.0.1"), handler);
+        MockHttpServletResponse retry = perform(filter, request("key-1", BODY, "10.0.0.1"), handler);
+
+        assertThat(handled).hasValue(1);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(retry.getHeader("Location")).isEqualTo(first.getHeader("Location"));
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    @Test
+    void aDuplicateWaitsForTheOriginalInFlight() throws Exception {
+        IdempotencyFilter filter = filter(DataSize.ofMegabytes(1));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            running.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            created().doFilter(request, response);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> original =
+                    executor.submit(() -> perform(filter, request("key-1", BODY, "10.0.0.1"), slow));
+            assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<MockHttpServletResponse> duplicate =
+                    executor.submit(() -> perform(filter, request("key-1", BODY, "10.0.0.1"), slow));
+            // Give the duplicate time to reach the stored entry and start waiting on it
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(duplicate.get(10, TimeUnit.SECONDS).getContentAsString())
+                    .isEqualTo(original.get(10, TimeUnit.SECONDS).getContentAsString());
+            assertThat(duplicate.get().getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(handled).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void aRetryAfterAServerErrorRunsAgain() throws Exception {
+        IdempotencyFilter filter = filter(DataSize.ofMegabytes(1));
+        FilterChain failing = (request, response) -> {
+            handled.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        };
+
+        perform(filter, request("key-1", BODY, "10.0.0.1"), failing);
+        MockHttpServletResponse retry = perform(filter, request("key-1", BODY, "10.0.0.1"), created());
+
+        assertThat(handled).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void aRetryAfterAnExceptionRunsAgain() throws Exception {
+        IdempotencyFilter filter = filter(DataSize.ofMegabytes(1));
+        FilterChain throwing = (request, response) -> {
+            handled.incrementAndGet();
+            throw new IllegalStateException("connection reset");
+        };
+
+        assertThatThrownBy(() -> perform(filter, request("key-1", BODY, "10.0.0.1"), throwing))
+                .isInstanceOf(IllegalStateException.class);
+        MockHttpServletResponse retry = perform(filter, request("key-1", BODY, "10.0.0.1"), created());
+
+        assertThat(handled).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+    }
+
+    @Test
+    void aKeyReusedForADifferentBodyIsRejected() throws Exception {
+        IdempotencyFilter filter = filter(DataSize.ofMegabytes(1));
+
+        perform(filter, request("key-1", BODY, "10.0.0.1"), created());
+        MockHttpServletResponse reused = perform(filter, request("key-1", "{\"title\":\"Other\"}", "10.0.0.1"), created());
+
+        assertThat(handled).hasValue(1);
+        assertThat(reused.getStatus()).isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED.getHttpStatus().value());
+    }
+
+    @Test
+    void anOversizedBodyIsRejectedBeforeItRuns() throws Exception {
+        IdempotencyFilter filter = filter(DataSize.ofBytes(BODY.length() - 1));
+
+        MockHttpServletResponse response = perform(filter, request("key-1", BODY, "10.0.0.1"), created());
+
+        assertThat(handled).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        assertThat(response.getContentAsString()).contains(String.valueOf(ErrorCode.IDEMPOTENCY_BODY_TOO_LARGE.getCode()));
+    }
+
+    @Test
+    void keysOfDifferentClientsDoNotCollide() throws Exception {
+        IdempotencyFilter filter = filter(DataSize.ofMegabytes(1));
+
+        MockHttpServletResponse first = perform(filter, request("key-1", BODY, "10.0.0.1"), created());
+        MockHttpServletResponse second = perform(filter, request("key-1", BODY, "10.0.0.2"), created());
+
+        assertThat(handled).hasValue(2);
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(second.getHeader("Location")).isNotEqualTo(first.getHeader("Location"));
+    }
+
+    private IdempotencyFilter filter(DataSize maxBodySize) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxBodySize(maxBodySize);
+        return new IdempotencyFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * A handler that reads the body and creates a new resource every time it runs.
+     */
+    private FilterChain created() {
+        return (request, response) -> {
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            int id = handled.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(HttpStatus.CREATED.value());
+            http.setHeader("Location", "/api/events/" + id);
+            http.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            http.getWriter().write("{\"id\":" + id + ",\"request\":" + body + "}");
+        };
+    }
+
+    private static MockHttpServletRequest request(String key, String body, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/events");
+        request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static MockHttpServletResponse perform(IdempotencyFilter filter, MockHttpServletRequest request,
+                                                   FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
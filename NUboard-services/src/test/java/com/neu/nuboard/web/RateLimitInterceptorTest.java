@@ -0,0 +1,88 @@
+package com.neu.nuboard.web;
+
+import com.neu.nuboard.exception.BusinessException;
+import com.neu.nuboard.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Which bucket a request is charged to, for a group of one write per minute keyed by user.
+ */
+class RateLimitInterceptorTest {
+
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(properties(), new SimpleMeterRegistry());
+
+    @Test
+    void theUserIdParameterDoesNotGetANewBucket() {
+        MockHttpServletResponse allowed = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("10.0.0.1", "user-1"), allowed, null)).isTrue();
+        assertThat(allowed.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("0");
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertThatThrownBy(() -> interceptor.preHandle(request("10.0.0.1", "user-2"), rejected, null))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.RATE_LIMITED));
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+    }
+
+    @Test
+    void anonymousClientsAreKeyedByAddress() {
+        assertThat(interceptor.preHandle(request("10.0.0.1", null), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(request("10.0.0.2", null), new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    @Test
+    void authenticatedUsersBehindOneAddressHaveTheirOwnBuckets() {
+        MockHttpServletRequest alice = request("10.0.0.1", null);
+        alice.setUserPrincipal(() -> "alice");
+        MockHttpServletRequest bob = request("10.0.0.1", null);
+        bob.setUserPrincipal(() -> "bob");
+
+        assertThat(interceptor.preHandle(alice, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(bob, new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    @Test
+    void endpointsInNoGroupAreNotLimited() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/events");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        }
+        assertThat(response.getHeader(RateLimitInterceptor.LIMIT_HEADER)).isNull();
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties.Group writes = new RateLimitProperties.Group();
+        writes.setLimit(1);
+        writes.setPeriod(Duration.ofMinutes(1));
+        writes.setKeyBy(RateLimitProperties.KeyBy.USER);
+        writes.setEndpoints(List.of("POST /api/events"));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(Map.of("writes", writes));
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/events");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/events");
+        request.setRemoteAddr(remoteAddr);
+        if (userId != null) {
+            request.setParameter("userId", userId);
+        }
+        return request;
+    }
+}
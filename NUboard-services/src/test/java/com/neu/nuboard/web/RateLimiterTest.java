@@ -0,0 +1,80 @@
+package com.neu.nuboard.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the buckets with a fake clock: 3 requests per 3 seconds, i.e. one request earned back every second.
+ */
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    // Any start time works; nanoTime values can be negative, so start from one
+    private static final long T0 = -42 * SECOND;
+
+    private final RateLimiter limiter = new RateLimiter(3, Duration.ofSeconds(3), 100, Duration.ofMinutes(10));
+
+    @Test
+    void aFullBucketAllowsABurstUpToTheLimit() {
+        RateLimiter.Decision first = limiter.tryAcquire("client", T0);
+        RateLimiter.Decision second = limiter.tryAcquire("client", T0);
+        RateLimiter.Decision third = limiter.tryAcquire("client", T0);
+        RateLimiter.Decision fourth = limiter.tryAcquire("client", T0);
+
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getLimit()).isEqualTo(3);
+        assertThat(first.getRemaining()).isEqualTo(2);
+        assertThat(first.getResetSeconds()).isEqualTo(1);
+        assertThat(first.getRetryAfterSeconds()).isZero();
+        assertThat(second.getRemaining()).isEqualTo(1);
+        assertThat(second.getResetSeconds()).isEqualTo(2);
+        assertThat(third.isAllowed()).isTrue();
+        assertThat(third.getRemaining()).isZero();
+        assertThat(third.getResetSeconds()).isEqualTo(3);
+
+        assertThat(fourth.isAllowed()).isFalse();
+        assertThat(fourth.getRemaining()).isZero();
+        assertThat(fourth.getResetSeconds()).isEqualTo(3);
+        assertThat(fourth.getRetryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    void anEmptyBucketEarnsBackOneRequestPerInterval() {
+        drain(T0);
+
+        // Half an interval later nothing is earned back yet; Retry-After and Reset round up to whole seconds
+        RateLimiter.Decision early = limiter.tryAcquire("client", T0 + SECOND / 2);
+        assertThat(early.isAllowed()).isFalse();
+        assertThat(early.getRetryAfterSeconds()).isEqualTo(1);
+        assertThat(early.getResetSeconds()).isEqualTo(3);
+
+        RateLimiter.Decision refilled = limiter.tryAcquire("client", T0 + SECOND);
+        assertThat(refilled.isAllowed()).isTrue();
+        assertThat(refilled.getRemaining()).isZero();
+        assertThat(limiter.tryAcquire("client", T0 + SECOND).isAllowed()).isFalse();
+
+        // After a whole period idle the bucket is full again, and never fuller
+        RateLimiter.Decision rested = limiter.tryAcquire("client", T0 + 60 * SECOND);
+        assertThat(rested.isAllowed()).isTrue();
+        assertThat(rested.getRemaining()).isEqualTo(2);
+    }
+
+    @Test
+    void clientsHaveTheirOwnBuckets() {
+        drain(T0);
+
+        assertThat(limiter.tryAcquire("client", T0).isAllowed()).isFalse();
+        assertThat(limiter.tryAcquire("other", T0).isAllowed()).isTrue();
+        assertThat(limiter.trackedKeys()).isEqualTo(2);
+    }
+
+    private void drain(long now) {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("client", now).isAllowed()).isTrue();
+        }
+    }
+}
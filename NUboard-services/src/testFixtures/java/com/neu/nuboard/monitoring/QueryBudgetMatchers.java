@@ -0,0 +1,55 @@
+package com.neu.nuboard.monitoring;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * MockMvc matchers for SQL statement budgets, based on the headers written by {@link QueryStatsResponseAdvice}.
+ * <p>
+ * To check that an endpoint has no N+1, assert the same bound with little and with much data:
+ * <pre>
+ * seedEvents(10);
+ * mockMvc.perform(get("/api/events")).andExpect(statementsAtMost(3));
+ * seedEvents(500);
+ * mockMvc.perform(get("/api/events")).andExpect(statementsAtMost(3));
+ * </pre>
+ */
+public final class QueryBudgetMatchers {
+
+    private QueryBudgetMatchers() {
+    }
+
+    /**
+     * @param max The maximum number of SQL statements the request may execute.
+     * @return A matcher that fails if the request executed more statements.
+     */
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> {
+            long statements = header(result.getResponse().getHeader(QueryStatsResponseAdvice.STATEMENT_COUNT_HEADER),
+                    QueryStatsResponseAdvice.STATEMENT_COUNT_HEADER);
+            if (statements > max) {
+                throw new AssertionError("Expected at most " + max + " SQL statements but the request executed " + statements);
+            }
+        };
+    }
+
+    /**
+     * @param maxMillis The maximum time the request may spend executing SQL statements.
+     * @return A matcher that fails if the request spent longer.
+     */
+    public static ResultMatcher databaseTimeAtMost(long maxMillis) {
+        return result -> {
+            long millis = header(result.getResponse().getHeader(QueryStatsResponseAdvice.TIME_HEADER),
+                    QueryStatsResponseAdvice.TIME_HEADER);
+            if (millis > maxMillis) {
+                throw new AssertionError("Expected at most " + maxMillis + " ms of SQL but the request spent " + millis + " ms");
+            }
+        };
+    }
+
+    private static long header(String value, String name) {
+        if (value == null) {
+            throw new AssertionError("Response has no " + name + " header; is the request under /api and returning a body?");
+        }
+        return Long.parseLong(value);
+    }
+}
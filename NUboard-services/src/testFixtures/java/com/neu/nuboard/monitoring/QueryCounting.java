@@ -0,0 +1,29 @@
+package com.neu.nuboard.monitoring;
+
+/**
+ * Counts SQL statements around code called directly, e.g. a service method in an integration test.
+ * <pre>
+ * QueryStats stats = QueryCounting.count(() -> eventService.getAllEvents());
+ * assertThat(stats.getStatements()).isLessThanOrEqualTo(2);
+ * </pre>
+ */
+public final class QueryCounting {
+
+    private QueryCounting() {
+    }
+
+    /**
+     * Runs the work on the current thread and collects the statements it executes.
+     * @param work The code to measure.
+     * @return The statements and database time of the work.
+     */
+    public static QueryStats count(Runnable work) {
+        QueryStats stats = QueryStats.start();
+        try {
+            work.run();
+        } finally {
+            QueryStats.stop();
+        }
+        return stats;
+    }
+}
@@ -19,6 +19,7 @@ function NUboard(){
     });
     const creationRef = useRef();
     const registrationRef = useRef();
+    const syncToken = useRef(null);
     const id = useId();
 
   async function saveEvent() {
@@ -113,10 +114,33 @@ function NUboard(){
     }))
   }
 
-  function fetchEvents() {
-    axios.get('http://localhost:8080/api/events')
-      .then((response) => setEvents(response.data.data))
-      .catch((error) => console.error("Failed to load events", error));
+  // Only downloads what changed since the last call; the first call loads every event
+  async function fetchEvents() {
+    try {
+      let hasMore = true;
+      while (hasMore) {
+        const response = await axios.get('http://localhost:8080/api/events/changes', {
+          params: syncToken.current ? { since: syncToken.current } : {}
+        });
+        const { changed, deleted, nextToken } = response.data.data;
+        setEvents(prev => {
+          const byId = new Map(prev.map(event => [event.id, event]));
+          deleted.forEach(eventId => byId.delete(eventId));
+          changed.forEach(event => byId.set(event.id, event));
+          return Array.from(byId.values());
+        });
+        syncToken.current = nextToken;
+        hasMore = response.data.data.hasMore;
+      }
+    } catch (error) {
+      if (error.response?.status === 410 && syncToken.current) {
+        // Token too old: start over with a full load
+        syncToken.current = null;
+        setEvents([]);
+        return fetchEvents();
+      }
+      console.error("Failed to load events", error);
+    }
   }
 
   function deleteEvents(id){
@@ -136,9 +160,10 @@ function NUboard(){
     setRegistrationRecords([]);
     registrationRef.current.showModal();
   
-    axios.get(`http://localhost:8080/api/registrations/event/${event.id}`)
+    axios.get(`http://localhost:8080/api/events/${event.id}`)
       .then((response) => {
-        setRegistrationRecords(response.data.data);
+        setSelectedEvent(response.data.data);
+        setRegistrationRecords(response.data.data.registrations);
       })
       .catch((error) => console.error("Failed to load registration records", error));
   }